@@ -0,0 +1,259 @@
+-- UNO Game: complete schema for a fresh database (import into MySQL 8.0+).
+-- Generated from db/migrations; the app applies the same scripts automatically on startup
+-- (SchemaMigrator), so importing this file is optional.
+
+CREATE DATABASE IF NOT EXISTS uno_project;
+USE uno_project;
+
+CREATE TABLE IF NOT EXISTS schema_version (
+    version INT PRIMARY KEY,
+    description VARCHAR(200) NOT NULL,
+    applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- V1: The original UNO schema (players, card catalog, games, deck, hands, move log).
+-- Every later change is a separate, numbered migration applied by SchemaMigrator.
+
+CREATE TABLE IF NOT EXISTS Players (
+    player_id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(50) NOT NULL,
+    type VARCHAR(10) NOT NULL,
+    score INT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS Cards (
+    card_id INT PRIMARY KEY,
+    color VARCHAR(10) NOT NULL,
+    value VARCHAR(10) NOT NULL,
+    points INT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS Game (
+    game_id INT AUTO_INCREMENT PRIMARY KEY,
+    status VARCHAR(20) NOT NULL DEFAULT 'setup',
+    current_turn INT,
+    direction VARCHAR(20) NOT NULL DEFAULT 'clockwise',
+    current_card_id INT,
+    active_color VARCHAR(10),
+    pending_draw_stack INT NOT NULL DEFAULT 0,
+    winner_id INT,
+    FOREIGN KEY (current_card_id) REFERENCES Cards(card_id)
+);
+
+CREATE TABLE IF NOT EXISTS Deck (
+    game_id INT NOT NULL,
+    card_id INT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'in_deck',
+    PRIMARY KEY (game_id, card_id),
+    FOREIGN KEY (game_id) REFERENCES Game(game_id),
+    FOREIGN KEY (card_id) REFERENCES Cards(card_id)
+);
+
+CREATE TABLE IF NOT EXISTS Hands (
+    game_id INT NOT NULL,
+    player_id INT NOT NULL,
+    card_id INT NOT NULL,
+    PRIMARY KEY (game_id, card_id),
+    FOREIGN KEY (game_id) REFERENCES Game(game_id),
+    FOREIGN KEY (player_id) REFERENCES Players(player_id),
+    FOREIGN KEY (card_id) REFERENCES Cards(card_id)
+);
+
+CREATE TABLE IF NOT EXISTS Moves (
+    move_id INT AUTO_INCREMENT PRIMARY KEY,
+    game_id INT NOT NULL,
+    player_id INT NOT NULL,
+    card_id INT,
+    action VARCHAR(20) NOT NULL,
+    turn_number INT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (game_id) REFERENCES Game(game_id),
+    FOREIGN KEY (player_id) REFERENCES Players(player_id),
+    FOREIGN KEY (card_id) REFERENCES Cards(card_id)
+);
+
+-- The standard 108-card deck (ids match CardCatalog.loadStandardDeck)
+INSERT IGNORE INTO Cards (card_id, color, value, points) VALUES
+    (1, 'red', '0', 0),
+    (2, 'red', '1', 1),
+    (3, 'red', '1', 1),
+    (4, 'red', '2', 2),
+    (5, 'red', '2', 2),
+    (6, 'red', '3', 3),
+    (7, 'red', '3', 3),
+    (8, 'red', '4', 4),
+    (9, 'red', '4', 4),
+    (10, 'red', '5', 5),
+    (11, 'red', '5', 5),
+    (12, 'red', '6', 6),
+    (13, 'red', '6', 6),
+    (14, 'red', '7', 7),
+    (15, 'red', '7', 7),
+    (16, 'red', '8', 8),
+    (17, 'red', '8', 8),
+    (18, 'red', '9', 9),
+    (19, 'red', '9', 9),
+    (20, 'red', 'skip', 20),
+    (21, 'red', 'skip', 20),
+    (22, 'red', 'reverse', 20),
+    (23, 'red', 'reverse', 20),
+    (24, 'red', 'draw2', 20),
+    (25, 'red', 'draw2', 20),
+    (26, 'green', '0', 0),
+    (27, 'green', '1', 1),
+    (28, 'green', '1', 1),
+    (29, 'green', '2', 2),
+    (30, 'green', '2', 2),
+    (31, 'green', '3', 3),
+    (32, 'green', '3', 3),
+    (33, 'green', '4', 4),
+    (34, 'green', '4', 4),
+    (35, 'green', '5', 5),
+    (36, 'green', '5', 5),
+    (37, 'green', '6', 6),
+    (38, 'green', '6', 6),
+    (39, 'green', '7', 7),
+    (40, 'green', '7', 7),
+    (41, 'green', '8', 8),
+    (42, 'green', '8', 8),
+    (43, 'green', '9', 9),
+    (44, 'green', '9', 9),
+    (45, 'green', 'skip', 20),
+    (46, 'green', 'skip', 20),
+    (47, 'green', 'reverse', 20),
+    (48, 'green', 'reverse', 20),
+    (49, 'green', 'draw2', 20),
+    (50, 'green', 'draw2', 20),
+    (51, 'blue', '0', 0),
+    (52, 'blue', '1', 1),
+    (53, 'blue', '1', 1),
+    (54, 'blue', '2', 2),
+    (55, 'blue', '2', 2),
+    (56, 'blue', '3', 3),
+    (57, 'blue', '3', 3),
+    (58, 'blue', '4', 4),
+    (59, 'blue', '4', 4),
+    (60, 'blue', '5', 5),
+    (61, 'blue', '5', 5),
+    (62, 'blue', '6', 6),
+    (63, 'blue', '6', 6),
+    (64, 'blue', '7', 7),
+    (65, 'blue', '7', 7),
+    (66, 'blue', '8', 8),
+    (67, 'blue', '8', 8),
+    (68, 'blue', '9', 9),
+    (69, 'blue', '9', 9),
+    (70, 'blue', 'skip', 20),
+    (71, 'blue', 'skip', 20),
+    (72, 'blue', 'reverse', 20),
+    (73, 'blue', 'reverse', 20),
+    (74, 'blue', 'draw2', 20),
+    (75, 'blue', 'draw2', 20),
+    (76, 'yellow', '0', 0),
+    (77, 'yellow', '1', 1),
+    (78, 'yellow', '1', 1),
+    (79, 'yellow', '2', 2),
+    (80, 'yellow', '2', 2),
+    (81, 'yellow', '3', 3),
+    (82, 'yellow', '3', 3),
+    (83, 'yellow', '4', 4),
+    (84, 'yellow', '4', 4),
+    (85, 'yellow', '5', 5),
+    (86, 'yellow', '5', 5),
+    (87, 'yellow', '6', 6),
+    (88, 'yellow', '6', 6),
+    (89, 'yellow', '7', 7),
+    (90, 'yellow', '7', 7),
+    (91, 'yellow', '8', 8),
+    (92, 'yellow', '8', 8),
+    (93, 'yellow', '9', 9),
+    (94, 'yellow', '9', 9),
+    (95, 'yellow', 'skip', 20),
+    (96, 'yellow', 'skip', 20),
+    (97, 'yellow', 'reverse', 20),
+    (98, 'yellow', 'reverse', 20),
+    (99, 'yellow', 'draw2', 20),
+    (100, 'yellow', 'draw2', 20),
+    (101, 'wild', 'wild', 50),
+    (102, 'wild', 'wild', 50),
+    (103, 'wild', 'wild', 50),
+    (104, 'wild', 'wild', 50),
+    (105, 'wild', 'wild4', 50),
+    (106, 'wild', 'wild4', 50),
+    (107, 'wild', 'wild4', 50),
+    (108, 'wild', 'wild4', 50);
+
+-- V2: The deck is shuffled once per game and stored in draw order; move numbers are read per game.
+-- idx_deck_draw also serves every Deck(game_id, status) lookup; idx_moves_turn serves Moves(game_id).
+
+ALTER TABLE Deck ADD COLUMN deck_position INT NOT NULL DEFAULT 0;
+CREATE INDEX idx_deck_draw ON Deck (game_id, status, deck_position);
+CREATE INDEX idx_moves_turn ON Moves (game_id, turn_number);
+
+-- V3: Several games per database. Players are reused by name and each game records its own seating.
+
+ALTER TABLE Players ADD UNIQUE KEY uq_players_name (name);
+
+CREATE TABLE IF NOT EXISTS GameSeats (
+    game_id INT NOT NULL,
+    seat_no INT NOT NULL,
+    player_id INT NOT NULL,
+    PRIMARY KEY (game_id, seat_no),
+    UNIQUE KEY uq_seats_player (game_id, player_id),
+    FOREIGN KEY (game_id) REFERENCES Game(game_id),
+    FOREIGN KEY (player_id) REFERENCES Players(player_id)
+);
+
+-- V4: Optimistic concurrency. Every committed move bumps the version of its Game row.
+
+ALTER TABLE Game ADD COLUMN version INT NOT NULL DEFAULT 0;
+
+-- V5: Running statistics counters, split into 16 rows (game_id % 16) to spread concurrent updates.
+-- Left empty here; GameController backfills it from history on first read.
+
+CREATE TABLE IF NOT EXISTS GameStats (
+    slot TINYINT NOT NULL PRIMARY KEY,
+    total_games_finished INT NOT NULL DEFAULT 0,
+    total_turns_played INT NOT NULL DEFAULT 0,
+    ai_wins INT NOT NULL DEFAULT 0,
+    human_wins INT NOT NULL DEFAULT 0,
+    draw2_count INT NOT NULL DEFAULT 0,
+    wild4_count INT NOT NULL DEFAULT 0
+);
+
+-- V6: Indexes for the remaining hot queries.
+-- Hands(game_id, player_id): getPlayerHand and getHandCounts.
+-- Game(status, winner_id): the statistics backfill.
+
+CREATE INDEX idx_hands_player ON Hands (game_id, player_id);
+CREATE INDEX idx_game_finished ON Game (status, winner_id);
+
+-- V7: Moves(game_id, move_id) for delta sync: a client reads only the moves after the last one it has seen.
+
+CREATE INDEX idx_moves_sync ON Moves (game_id, move_id);
+
+-- V8: Moves are numbered from Game.version (turn_number = version after the move). Games that logged
+-- moves before V4 added the column start from their last logged turn instead of 0.
+
+UPDATE Game g
+JOIN (SELECT game_id, MAX(turn_number) AS last_turn FROM Moves GROUP BY game_id) m ON m.game_id = g.game_id
+SET g.version = m.last_turn
+WHERE g.version < m.last_turn;
+
+-- V9: Moves and game ends create their GameStats row if it is missing, so rows can exist before the
+-- history has been backfilled. backfilled marks the rows written by the backfill.
+
+ALTER TABLE GameStats ADD COLUMN backfilled BOOLEAN NOT NULL DEFAULT FALSE;
+UPDATE GameStats SET backfilled = TRUE;
+
+-- Mark every migration above as applied
+INSERT IGNORE INTO schema_version (version, description) VALUES
+    (1, 'baseline'),
+    (2, 'deck order'),
+    (3, 'game seats'),
+    (4, 'game version'),
+    (5, 'game stats'),
+    (6, 'hot path indexes'),
+    (7, 'moves sync index'),
+    (8, 'version matches moves'),
+    (9, 'stats backfill marker');
@@ -0,0 +1,6 @@
+-- V2: The deck is shuffled once per game and stored in draw order; move numbers are read per game.
+-- idx_deck_draw also serves every Deck(game_id, status) lookup; idx_moves_turn serves Moves(game_id).
+
+ALTER TABLE Deck ADD COLUMN deck_position INT NOT NULL DEFAULT 0;
+CREATE INDEX idx_deck_draw ON Deck (game_id, status, deck_position);
+CREATE INDEX idx_moves_turn ON Moves (game_id, turn_number);
@@ -0,0 +1,13 @@
+-- V3: Several games per database. Players are reused by name and each game records its own seating.
+
+ALTER TABLE Players ADD UNIQUE KEY uq_players_name (name);
+
+CREATE TABLE IF NOT EXISTS GameSeats (
+    game_id INT NOT NULL,
+    seat_no INT NOT NULL,
+    player_id INT NOT NULL,
+    PRIMARY KEY (game_id, seat_no),
+    UNIQUE KEY uq_seats_player (game_id, player_id),
+    FOREIGN KEY (game_id) REFERENCES Game(game_id),
+    FOREIGN KEY (player_id) REFERENCES Players(player_id)
+);
@@ -0,0 +1,3 @@
+-- V4: Optimistic concurrency. Every committed move bumps the version of its Game row.
+
+ALTER TABLE Game ADD COLUMN version INT NOT NULL DEFAULT 0;
@@ -0,0 +1,12 @@
+-- V5: Running statistics counters, split into 16 rows (game_id % 16) to spread concurrent updates.
+-- Left empty here; GameController backfills it from history on first read.
+
+CREATE TABLE IF NOT EXISTS GameStats (
+    slot TINYINT NOT NULL PRIMARY KEY,
+    total_games_finished INT NOT NULL DEFAULT 0,
+    total_turns_played INT NOT NULL DEFAULT 0,
+    ai_wins INT NOT NULL DEFAULT 0,
+    human_wins INT NOT NULL DEFAULT 0,
+    draw2_count INT NOT NULL DEFAULT 0,
+    wild4_count INT NOT NULL DEFAULT 0
+);
@@ -0,0 +1,6 @@
+-- V6: Indexes for the remaining hot queries.
+-- Hands(game_id, player_id): getPlayerHand and getHandCounts.
+-- Game(status, winner_id): the statistics backfill.
+
+CREATE INDEX idx_hands_player ON Hands (game_id, player_id);
+CREATE INDEX idx_game_finished ON Game (status, winner_id);
@@ -0,0 +1,3 @@
+-- V7: Moves(game_id, move_id) for delta sync: a client reads only the moves after the last one it has seen.
+
+CREATE INDEX idx_moves_sync ON Moves (game_id, move_id);
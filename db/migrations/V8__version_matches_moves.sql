@@ -0,0 +1,7 @@
+-- V8: Moves are numbered from Game.version (turn_number = version after the move). Games that logged
+-- moves before V4 added the column start from their last logged turn instead of 0.
+
+UPDATE Game g
+JOIN (SELECT game_id, MAX(turn_number) AS last_turn FROM Moves GROUP BY game_id) m ON m.game_id = g.game_id
+SET g.version = m.last_turn
+WHERE g.version < m.last_turn;
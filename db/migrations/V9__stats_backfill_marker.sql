@@ -0,0 +1,6 @@
+-- V9: Moves and game ends create their GameStats row if it is missing, so rows can exist before the
+-- history has been backfilled. backfilled marks the rows written by the backfill.
+-- Before this, rows only existed after a backfill, so existing rows are marked.
+
+ALTER TABLE GameStats ADD COLUMN backfilled BOOLEAN NOT NULL DEFAULT FALSE;
+UPDATE GameStats SET backfilled = TRUE;
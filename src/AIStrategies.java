@@ -0,0 +1,67 @@
+// --- File: src/AIStrategies.java ---
+
+import java.util.SplittableRandom;
+
+/**
+ * AIStrategies: The built-in AIStrategy implementations.
+ *
+ * greedy - the game's own AI (UnoEngine.getAIDecision): highest-scoring playable card,
+ *          Wilds take the color the hand holds most of.
+ * random - any playable card, chosen uniformly; Wilds take a random color. A baseline.
+ * montecarlo[:ms] - MonteCarloStrategy with a per-move time budget in ms
+ *          (default -Duno.ai.budgetMillis, or 300). Not reproducible from a seed.
+ */
+public final class AIStrategies {
+
+    private static final String[] COLORS = {"red", "green", "blue", "yellow"};
+
+    private AIStrategies() { }
+
+    public static final AIStrategy GREEDY = new AIStrategy() {
+        @Override
+        public String name() { return "greedy"; }
+
+        @Override
+        public AIDecision choose(GameState state, SplittableRandom rng) {
+            return UnoEngine.getAIDecision(state.handAt(state.getCurrentSeat()), state.getTopCard(),
+                                           state.getActiveCardColor(), state.getPendingDrawStack());
+        }
+    };
+
+    public static final AIStrategy RANDOM = new AIStrategy() {
+        @Override
+        public String name() { return "random"; }
+
+        @Override
+        public AIDecision choose(GameState state, SplittableRandom rng) {
+            HandBits hand = state.handAt(state.getCurrentSeat());
+            GameStatus status = state.toStatus();
+            int playable = UnoEngine.countPlayable(hand, status);
+            if (playable == 0) return new AIDecision(null, null);
+
+            int pick = rng.nextInt(playable);
+            for (int id = hand.first(); id >= 0; id = hand.next(id)) {
+                Card card = CardCatalog.get(id);
+                if (UnoEngine.isValidMove(card, status) && pick-- == 0) {
+                    return new AIDecision(card, card.isWild() ? COLORS[rng.nextInt(COLORS.length)] : null);
+                }
+            }
+            throw new IllegalStateException("Playable card count and hand disagree.");
+        }
+    };
+
+    /**
+     * Looks up a built-in strategy by name. "montecarlo:50" is the Monte Carlo AI with a 50 ms budget.
+     */
+    public static AIStrategy byName(String name) {
+        String[] parts = name.trim().toLowerCase().split(":", 2);
+        switch (parts[0]) {
+            case "greedy": return GREEDY;
+            case "random": return RANDOM;
+            case "montecarlo":
+                long budget = parts.length > 1 ? Long.parseLong(parts[1]) : Long.getLong("uno.ai.budgetMillis", 300L);
+                return new MonteCarloStrategy(budget);
+            default: throw new IllegalArgumentException("Unknown AI strategy: " + name + " (known: greedy, random, montecarlo[:ms])");
+        }
+    }
+}
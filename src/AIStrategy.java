@@ -0,0 +1,21 @@
+// --- File: src/AIStrategy.java ---
+
+import java.util.SplittableRandom;
+
+/**
+ * AIStrategy: How a computer player picks its move on an in-memory GameState.
+ * Used by SelfPlaySimulator to play strategies against each other; see AIStrategies for the built-in ones.
+ */
+public interface AIStrategy {
+
+    /**
+     * Short name used on the command line and in reports (e.g. "greedy").
+     */
+    String name();
+
+    /**
+     * Chooses a move for the player whose turn it is. A decision with a null card means "draw and pass".
+     * rng is the game's own random stream, so a seeded game replays identically.
+     */
+    AIDecision choose(GameState state, SplittableRandom rng);
+}
@@ -1,18 +1,35 @@
 /**
  * Card: Model class representing a single UNO card, holding its database attributes.
- * This version includes a setter for color to handle Wild card active_color.
+ * Cards are immutable and shared through the CardCatalog. The color chosen for a
+ * played Wild card lives in GameStatus (active color), not on the card itself.
+ *
+ * The color and value are also kept as enums, and packed into one byte
+ * (color code in the high nibble, value code in the low nibble) for table lookups.
  */
-public class Card {
-    private int cardId;
-    private String color; // red, green, blue, yellow, wild
-    private String value; // 0-9, skip, reverse, draw2, wild, wild4
-    private int points;   // For scoring
+public final class Card {
+    private final int cardId;
+    private final String color; // red, green, blue, yellow, wild
+    private final String value; // 0-9, skip, reverse, draw2, wild, wild4
+    private final int points;   // For scoring
+    private final CardColor cardColor;
+    private final CardValue cardValue;
+    private final byte packed;
 
     public Card(int cardId, String color, String value, int points) {
         this.cardId = cardId;
         this.color = color;
         this.value = value;
         this.points = points;
+        this.cardColor = CardColor.fromName(color);
+        this.cardValue = CardValue.fromName(value);
+        this.packed = pack(cardColor, cardValue);
+    }
+
+    /**
+     * Packs a color and value into one byte: color code * 16 + value code (always below 128).
+     */
+    public static byte pack(CardColor color, CardValue value) {
+        return (byte) ((color.ordinal() << 4) | value.ordinal());
     }
 
     // --- Getters ---
@@ -20,34 +37,20 @@ public class Card {
     public String getColor() { return color; }
     public String getValue() { return value; }
     public int getPoints() { return points; }
-    
-    // --- Setter (This is the missing method) ---
-    /**
-     * Used by getGameStatus to dynamically set the active color of a Wild card.
-     */
-    public void setColor(String color) {
-        // Only allow setting the color if this is a Wild card
-        if (this.color.equalsIgnoreCase("wild")) {
-            this.color = color;
-        }
-    }
+    public CardColor getCardColor() { return cardColor; }
+    public CardValue getCardValue() { return cardValue; }
+    public byte getPacked() { return packed; }
 
     // --- Helper for rules ---
     public boolean isWild() {
-        // Check the original value, as the color might change
-        return this.value.equalsIgnoreCase("wild") || this.value.equalsIgnoreCase("wild4");
+        return cardValue.isWild();
     }
 
     @Override
     public String toString() {
-        // Use the VALUE to check for wild, as color may be (e.g.) "red"
         if (isWild()) { 
-            // If the color hasn't been set yet (e.g., in hand), just show the value
-            if (this.color.equalsIgnoreCase("wild")) {
-                 return String.format("[%s]", value.toUpperCase());
-            }
-            return String.format("[%s] (Set to %s)", value.toUpperCase(), color.toUpperCase());
+            return String.format("[%s]", value.toUpperCase());
         }
         return String.format("%s %s", color.toUpperCase(), value.toUpperCase());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+// --- File: src/CardCatalog.java ---
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * CardCatalog: The read-only registry of every card in the Cards table.
+ *
+ * The catalog never changes while the game runs, so it is loaded once at startup
+ * into an array indexed by card_id. Every lookup after that is an array read,
+ * and all callers share the same immutable Card instances.
+ */
+public final class CardCatalog {
+
+    private static volatile Card[] cardsById;   // index = card_id, null for unused ids
+    private static volatile List<Card> allCards; // every card, in card_id order
+
+    private CardCatalog() { }
+
+    /**
+     * Loads the catalog from the Cards table. Safe to call more than once; only the first call queries.
+     */
+    public static void load(Connection conn) throws SQLException {
+        if (cardsById != null) return;
+        synchronized (CardCatalog.class) {
+            if (cardsById != null) return;
+
+            List<Card> cards = new ArrayList<>();
+            int maxId = 0;
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT card_id, color, value, points FROM Cards ORDER BY card_id")) {
+                while (rs.next()) {
+                    Card card = new Card(rs.getInt("card_id"), rs.getString("color"), rs.getString("value"), rs.getInt("points"));
+                    cards.add(card);
+                    maxId = Math.max(maxId, card.getCardId());
+                }
+            }
+            if (cards.isEmpty()) throw new SQLException("The Cards table is empty; import the card catalog first.");
+
+            Card[] byId = new Card[maxId + 1];
+            for (Card card : cards) {
+                byId[card.getCardId()] = card;
+            }
+            allCards = Collections.unmodifiableList(cards);
+            cardsById = byId;
+            System.out.println("Card catalog loaded: " + cards.size() + " cards.");
+        }
+    }
+
+    /**
+     * Loads the standard 108-card UNO deck without a database (ids 1..108), for in-memory games.
+     * Does nothing if a catalog is already loaded.
+     */
+    public static void loadStandardDeck() {
+        if (cardsById != null) return;
+        synchronized (CardCatalog.class) {
+            if (cardsById != null) return;
+
+            List<Card> cards = new ArrayList<>();
+            String[] colors = {"red", "green", "blue", "yellow"};
+            String[] actions = {"skip", "reverse", "draw2"};
+            int id = 1;
+            for (String color : colors) {
+                cards.add(new Card(id++, color, "0", 0));
+                for (int n = 1; n <= 9; n++) {
+                    cards.add(new Card(id++, color, String.valueOf(n), n));
+                    cards.add(new Card(id++, color, String.valueOf(n), n));
+                }
+                for (String action : actions) {
+                    cards.add(new Card(id++, color, action, 20));
+                    cards.add(new Card(id++, color, action, 20));
+                }
+            }
+            for (int i = 0; i < 4; i++) cards.add(new Card(id++, "wild", "wild", 50));
+            for (int i = 0; i < 4; i++) cards.add(new Card(id++, "wild", "wild4", 50));
+
+            Card[] byId = new Card[id];
+            for (Card card : cards) {
+                byId[card.getCardId()] = card;
+            }
+            allCards = Collections.unmodifiableList(cards);
+            cardsById = byId;
+        }
+    }
+
+    public static boolean isLoaded() {
+        return cardsById != null;
+    }
+
+    /**
+     * Returns the shared Card for an id, or null if no such card exists.
+     */
+    public static Card get(int cardId) {
+        Card[] byId = cardsById;
+        if (byId == null) throw new IllegalStateException("Card catalog has not been loaded.");
+        return (cardId >= 0 && cardId < byId.length) ? byId[cardId] : null;
+    }
+
+    /**
+     * Returns every card in the catalog, in card_id order.
+     */
+    public static List<Card> all() {
+        List<Card> cards = allCards;
+        if (cards == null) throw new IllegalStateException("Card catalog has not been loaded.");
+        return cards;
+    }
+}
@@ -0,0 +1,40 @@
+// --- File: src/CardColor.java ---
+
+/**
+ * CardColor: The color printed on a card, as stored in Cards.color. WILD is the "color" of Wild cards;
+ * the four real colors are also the possible active colors.
+ * The ordinal is the card's color code (see Card.getPacked), so the order must not change.
+ */
+public enum CardColor {
+    RED("red"),
+    GREEN("green"),
+    BLUE("blue"),
+    YELLOW("yellow"),
+    WILD("wild");
+
+    private static final CardColor[] VALUES = values();
+
+    private final String dbName;
+
+    CardColor(String dbName) {
+        this.dbName = dbName;
+    }
+
+    /**
+     * The lower-case name used in the database and the UI (e.g. "red").
+     */
+    public String dbName() { return dbName; }
+
+    public static CardColor fromCode(int code) { return VALUES[code]; }
+
+    /**
+     * Parses a database/UI color name (any case). Returns null for null.
+     */
+    public static CardColor fromName(String name) {
+        if (name == null) return null;
+        for (CardColor color : VALUES) {
+            if (color.dbName.equalsIgnoreCase(name)) return color;
+        }
+        throw new IllegalArgumentException("Unknown card color: " + name);
+    }
+}
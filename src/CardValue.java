@@ -0,0 +1,64 @@
+// --- File: src/CardValue.java ---
+
+/**
+ * CardValue: The number or action printed on a card, as stored in Cards.value.
+ * The ordinal is the card's value code (see Card.getPacked), so the order must not change.
+ */
+public enum CardValue {
+    ZERO("0", 0),
+    ONE("1", 1),
+    TWO("2", 2),
+    THREE("3", 3),
+    FOUR("4", 4),
+    FIVE("5", 5),
+    SIX("6", 6),
+    SEVEN("7", 7),
+    EIGHT("8", 8),
+    NINE("9", 9),
+    SKIP("skip", 70),
+    REVERSE("reverse", 70),
+    DRAW2("draw2", 80),
+    WILD("wild", 60),
+    WILD4("wild4", 100);
+
+    private static final CardValue[] VALUES = values();
+
+    private final String dbName;
+    private final int aiScore;
+
+    CardValue(String dbName, int aiScore) {
+        this.dbName = dbName;
+        this.aiScore = aiScore;
+    }
+
+    /**
+     * The name used in the database and the UI (e.g. "7", "draw2").
+     */
+    public String dbName() { return dbName; }
+
+    /**
+     * How much the AI wants to play this value: Wild Draw 4 first, numbers last (by face value).
+     */
+    public int aiScore() { return aiScore; }
+
+    public boolean isWild() { return this == WILD || this == WILD4; }
+
+    /**
+     * Cards added to the draw stack when this value is played.
+     */
+    public int drawPenalty() {
+        return this == DRAW2 ? 2 : (this == WILD4 ? 4 : 0);
+    }
+
+    public static CardValue fromCode(int code) { return VALUES[code]; }
+
+    /**
+     * Parses a database value name (any case).
+     */
+    public static CardValue fromName(String name) {
+        for (CardValue value : VALUES) {
+            if (value.dbName.equalsIgnoreCase(name)) return value;
+        }
+        throw new IllegalArgumentException("Unknown card value: " + name);
+    }
+}
@@ -0,0 +1,488 @@
+// --- File: src/ConnectionPool.java ---
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * ConnectionPool: A small bounded JDBC connection pool used by DBConnector.
+ *
+ * Each borrowed connection is a "lease" that belongs to the thread that borrowed it.
+ * Calling close() on the lease returns the physical connection to the pool instead
+ * of closing it. Connections are validated on borrow and evicted when idle too long.
+ *
+ * Statements, metadata and result sets obtained through a lease are wrapped too: their
+ * getConnection() returns the lease, never the physical connection, and they obey the same
+ * thread and close checks. A lease held longer than its max lease time is treated as a leak:
+ * it is logged with the stack trace of the code that borrowed it, its physical connection is
+ * closed, and its slot is given back to the pool.
+ */
+public class ConnectionPool implements DataSource {
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final long leaseTimeoutMillis;
+    private final long maxLeaseMillis;      // 0 = leases may be held indefinitely
+    private final long idleTimeoutMillis;
+    private final int validationTimeoutSeconds;
+
+    // Permits = connections that may still be handed out (bounds the pool size)
+    private final Semaphore permits;
+    // Idle physical connections, most recently returned first
+    private final Deque<IdleConnection> idle = new ArrayDeque<>();
+    // Leases currently handed out, checked for overdue ones by the evictor
+    private final Set<LeaseHandler> active = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService evictor;
+    private volatile boolean closed = false;
+
+    // --- Counters ---
+    private final AtomicLong totalLeases = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong leaseTimeouts = new AtomicLong();
+    private final AtomicLong connectionsCreated = new AtomicLong();
+    private final AtomicLong connectionsEvicted = new AtomicLong();
+    private final AtomicLong leasesRevoked = new AtomicLong();
+
+    public ConnectionPool(String url, String user, String password, int maxSize, long leaseTimeoutMillis,
+                          long maxLeaseMillis, long idleTimeoutMillis, int validationTimeoutSeconds) {
+        if (maxSize < 1) throw new IllegalArgumentException("Pool size must be at least 1");
+        if (maxLeaseMillis < 0) throw new IllegalArgumentException("Max lease time cannot be negative");
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.leaseTimeoutMillis = leaseTimeoutMillis;
+        this.maxLeaseMillis = maxLeaseMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "uno-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        evictor.scheduleAtFixedRate(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+        evictor.scheduleAtFixedRate(this::revokeOverdueLeases, 1000, 1000, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Leases a connection, waiting at most the configured lease timeout for a free slot.
+     * The lease may be held for at most the pool's max lease time.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(maxLeaseMillis);
+    }
+
+    /**
+     * Leases a connection that may be held for at most maxLeaseMillis (0 = no limit, for a connection
+     * kept for a whole session, e.g. the console demo).
+     */
+    public Connection getConnection(long maxLeaseMillis) throws SQLException {
+        if (closed) throw new SQLException("Connection pool is shut down.");
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(leaseTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.", e);
+        }
+        long waited = System.nanoTime() - start;
+        totalWaitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+        if (!acquired) {
+            leaseTimeouts.incrementAndGet();
+            throw new SQLException("Timed out after " + leaseTimeoutMillis + " ms waiting for a database connection "
+                                   + "(pool size " + maxSize + ").");
+        }
+
+        try {
+            Connection physical = takeValidIdle();
+            if (physical == null) {
+                physical = DriverManager.getConnection(url, user, password);
+                connectionsCreated.incrementAndGet();
+            }
+            totalLeases.incrementAndGet();
+            return wrap(physical, maxLeaseMillis);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pool connections always use the configured credentials.");
+    }
+
+    /**
+     * Closes all idle connections and refuses further leases.
+     * Connections currently leased are closed when they are returned.
+     */
+    public void shutdown() {
+        closed = true;
+        evictor.shutdownNow();
+        synchronized (idle) {
+            for (IdleConnection ic : idle) {
+                closeQuietly(ic.connection);
+            }
+            idle.clear();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the pool counters.
+     */
+    public Stats getStats() {
+        int idleCount;
+        synchronized (idle) {
+            idleCount = idle.size();
+        }
+        int active = maxSize - permits.availablePermits();
+        return new Stats(maxSize, active, idleCount, totalLeases.get(), totalWaitNanos.get(), maxWaitNanos.get(),
+                         leaseTimeouts.get(), connectionsCreated.get(), connectionsEvicted.get(), leasesRevoked.get());
+    }
+
+    // --- Internal helpers ---
+
+    private Connection takeValidIdle() {
+        while (true) {
+            IdleConnection ic;
+            synchronized (idle) {
+                ic = idle.pollFirst();
+            }
+            if (ic == null) return null;
+            try {
+                if (ic.connection.isValid(validationTimeoutSeconds)) {
+                    return ic.connection;
+                }
+            } catch (SQLException e) {
+                // Fall through and discard the broken connection
+            }
+            connectionsEvicted.incrementAndGet();
+            closeQuietly(ic.connection);
+        }
+    }
+
+    private void release(Connection physical) {
+        try {
+            boolean reusable = !closed && !physical.isClosed();
+            if (reusable && !physical.getAutoCommit()) {
+                // The borrower left a transaction open; never hand that state to the next thread.
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            if (reusable) {
+                synchronized (idle) {
+                    idle.addFirst(new IdleConnection(physical, System.currentTimeMillis()));
+                }
+            } else {
+                closeQuietly(physical);
+            }
+        } catch (SQLException e) {
+            connectionsEvicted.incrementAndGet();
+            closeQuietly(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        synchronized (idle) {
+            Iterator<IdleConnection> it = idle.iterator();
+            while (it.hasNext()) {
+                IdleConnection ic = it.next();
+                if (ic.returnedAt < cutoff) {
+                    it.remove();
+                    connectionsEvicted.incrementAndGet();
+                    closeQuietly(ic.connection);
+                }
+            }
+        }
+    }
+
+    /**
+     * Revokes every lease held past its max lease time: logs where it was borrowed, closes the
+     * physical connection (its state is unknown, so it is not reused) and frees the slot.
+     */
+    private void revokeOverdueLeases() {
+        long now = System.nanoTime();
+        for (LeaseHandler lease : active) {
+            long heldMillis = (now - lease.leasedAtNanos) / 1_000_000L;
+            if (lease.maxLeaseMillis > 0 && heldMillis > lease.maxLeaseMillis && lease.finish()) {
+                leasesRevoked.incrementAndGet();
+                lease.revokedAfterMillis = heldMillis;
+                System.err.println("Connection lease held for " + heldMillis + " ms by thread '" + lease.owner.getName()
+                                   + "' (max " + lease.maxLeaseMillis + " ms); revoking it. Probable leak, leased at:");
+                lease.leasedAt.printStackTrace();
+                try {
+                    lease.physical.abort(Runnable::run); // Also cancels a statement the owner may still be running
+                } catch (SQLException | RuntimeException e) {
+                    closeQuietly(lease.physical);
+                }
+                permits.release();
+            }
+        }
+    }
+
+    private Connection wrap(Connection physical, long maxLeaseMillis) {
+        LeaseHandler handler = new LeaseHandler(physical, Thread.currentThread(), maxLeaseMillis);
+        Connection lease = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                                                               new Class<?>[] { Connection.class }, handler);
+        handler.lease = lease;
+        active.add(handler);
+        return lease;
+    }
+
+    private static void closeQuietly(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Routes calls to the physical connection, but only from the leasing thread,
+     * and turns close() into a return to the pool.
+     */
+    private class LeaseHandler implements InvocationHandler {
+        private final Connection physical;
+        private final Thread owner;
+        private final long maxLeaseMillis;
+        private final long leasedAtNanos = System.nanoTime();
+        private final Throwable leasedAt;  // Where the lease was taken, for the leak report
+        private final AtomicBoolean finished = new AtomicBoolean(); // Returned or revoked
+        private volatile long revokedAfterMillis = -1;
+        Connection lease;                  // The proxy handed to the borrower
+
+        LeaseHandler(Connection physical, Thread owner, long maxLeaseMillis) {
+            this.physical = physical;
+            this.owner = owner;
+            this.maxLeaseMillis = maxLeaseMillis;
+            this.leasedAt = maxLeaseMillis > 0 ? new Throwable("Leased by thread '" + owner.getName() + "'") : null;
+        }
+
+        /**
+         * Ends the lease exactly once (by close() or by revocation); returns false if it had already ended.
+         */
+        boolean finish() {
+            if (!finished.compareAndSet(false, true)) return false;
+            active.remove(this);
+            return true;
+        }
+
+        /**
+         * Throws unless the lease is still live and the caller is its owner.
+         */
+        void checkUsable() throws SQLException {
+            if (finished.get()) {
+                if (revokedAfterMillis >= 0) {
+                    throw new SQLException("Connection lease was revoked after " + revokedAfterMillis
+                                           + " ms (max lease time " + maxLeaseMillis + " ms).");
+                }
+                throw new SQLException("Connection lease has already been returned to the pool.");
+            }
+            if (Thread.currentThread() != owner) {
+                throw new SQLException("Connection lease is confined to thread '" + owner.getName()
+                                       + "'; lease a separate connection on this thread.");
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("close")) {
+                if (finish()) {
+                    release(physical);
+                }
+                return null;
+            }
+            if (name.equals("isClosed")) {
+                return finished.get() || physical.isClosed();
+            }
+            checkUsable();
+            if (name.equals("unwrap") || name.equals("isWrapperFor")) {
+                return unwrapLease(proxy, name, (Class<?>) args[0]);
+            }
+            return wrapChild(method.getReturnType(), invokeOn(physical, method, args), this, null);
+        }
+    }
+
+    /**
+     * Routes calls to a Statement, DatabaseMetaData or ResultSet obtained through a lease. Anything that
+     * would lead back to a physical object (getConnection, getStatement, unwrap) leads to the lease's wrappers.
+     */
+    private class ChildHandler implements InvocationHandler {
+        private final Object target;
+        private final LeaseHandler lease;
+        private final Object parent; // The wrapped Statement this object came from, if any
+
+        ChildHandler(Object target, LeaseHandler lease, Object parent) {
+            this.target = target;
+            this.lease = lease;
+            this.parent = parent;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("close") || name.equals("isClosed")) {
+                return invokeOn(target, method, args); // Harmless after the lease has ended
+            }
+            lease.checkUsable();
+            switch (name) {
+                case "getConnection":
+                    return lease.lease;
+                case "getStatement":
+                    if (parent instanceof Statement) return parent;
+                    break;
+                case "unwrap":
+                case "isWrapperFor":
+                    return unwrapLease(proxy, name, (Class<?>) args[0]);
+                default:
+                    break;
+            }
+            Object parentForResult = proxy instanceof Statement ? proxy : parent;
+            return wrapChild(method.getReturnType(), invokeOn(target, method, args), lease, parentForResult);
+        }
+    }
+
+    /**
+     * Wraps JDBC objects handed out through a lease so they cannot expose the physical connection.
+     */
+    private Object wrapChild(Class<?> type, Object result, LeaseHandler lease, Object parent) {
+        if (result == null || !type.isInterface()) return result;
+        if (Statement.class.isAssignableFrom(type) || ResultSet.class.isAssignableFrom(type) || type == DatabaseMetaData.class) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, new ChildHandler(result, lease, parent));
+        }
+        return result;
+    }
+
+    /**
+     * unwrap/isWrapperFor on a lease or its children: only the wrapper itself may be unwrapped to,
+     * since the driver's object would bypass the lease.
+     */
+    private static Object unwrapLease(Object proxy, String name, Class<?> iface) throws SQLException {
+        if (name.equals("isWrapperFor")) return iface.isInstance(proxy);
+        if (iface.isInstance(proxy)) return proxy;
+        throw new SQLException("Pooled connection leases cannot be unwrapped to " + iface.getName() + ".");
+    }
+
+    private static Object invokeOn(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static class IdleConnection {
+        final Connection connection;
+        final long returnedAt;
+
+        IdleConnection(Connection connection, long returnedAt) {
+            this.connection = connection;
+            this.returnedAt = returnedAt;
+        }
+    }
+
+    /**
+     * A simple data-holder for the pool counters.
+     */
+    public static class Stats {
+        public final int maxSize;
+        public final int active;
+        public final int idle;
+        public final long totalLeases;
+        public final long totalWaitNanos;
+        public final long maxWaitNanos;
+        public final long leaseTimeouts;
+        public final long connectionsCreated;
+        public final long connectionsEvicted;
+        public final long leasesRevoked;   // Held past the max lease time (probable leaks)
+
+        Stats(int maxSize, int active, int idle, long totalLeases, long totalWaitNanos, long maxWaitNanos,
+              long leaseTimeouts, long connectionsCreated, long connectionsEvicted, long leasesRevoked) {
+            this.maxSize = maxSize;
+            this.active = active;
+            this.idle = idle;
+            this.totalLeases = totalLeases;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+            this.leaseTimeouts = leaseTimeouts;
+            this.connectionsCreated = connectionsCreated;
+            this.connectionsEvicted = connectionsEvicted;
+            this.leasesRevoked = leasesRevoked;
+        }
+
+        @Override
+        public String toString() {
+            double avgWaitMs = totalLeases == 0 ? 0.0 : (totalWaitNanos / 1_000_000.0) / totalLeases;
+            return String.format("Pool[active=%d, idle=%d, max=%d, leases=%d, avgWait=%.2fms, maxWait=%.2fms, timeouts=%d, created=%d, evicted=%d, revoked=%d]",
+                                 active, idle, maxSize, totalLeases, avgWaitMs, maxWaitNanos / 1_000_000.0,
+                                 leaseTimeouts, connectionsCreated, connectionsEvicted, leasesRevoked);
+        }
+    }
+
+    // --- Unused DataSource plumbing ---
+
+    @Override
+    public PrintWriter getLogWriter() { return DriverManager.getLogWriter(); }
+
+    @Override
+    public void setLogWriter(PrintWriter out) { DriverManager.setLogWriter(out); }
+
+    @Override
+    public void setLoginTimeout(int seconds) { DriverManager.setLoginTimeout(seconds); }
+
+    @Override
+    public int getLoginTimeout() { return DriverManager.getLoginTimeout(); }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("No parent logger.");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) return iface.cast(this);
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
@@ -1,27 +1,106 @@
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.nio.file.Path;
 
 public class DBConnector {
 
     // --- CRITICAL: UPDATE THESE THREE LINES ---
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/uno_project"; 
+    // (or override them per run with -Duno.db.url, -Duno.db.user and -Duno.db.password, e.g. for a scratch database)
+    private static final String DB_URL = System.getProperty(
+            "uno.db.url", "jdbc:mysql://localhost:3306/uno_project?rewriteBatchedStatements=true");
+    // rewriteBatchedStatements lets the driver send each JDBC batch as one multi-row statement
     // If testing remotely, use the host laptop's IP address instead of 'localhost'
     
-    private static final String USER = "root"; // Replace with your MySQL username
-    private static final String PASS = "527112Hh++"; // Replace with your MySQL password
+    private static final String USER = System.getProperty("uno.db.user", "root"); // Replace with your MySQL username
+    private static final String PASS = System.getProperty("uno.db.password", "527112Hh++"); // Replace with your MySQL password
+
+    // --- Connection pool settings ---
+    private static final int POOL_MAX_SIZE = 8;                  // Upper bound on open connections
+    private static final long LEASE_TIMEOUT_MS = 5_000;          // How long a caller waits for a free connection
+    private static final long MAX_LEASE_MS =                     // Leases held longer are logged as leaks and revoked (0 = never)
+            Long.getLong("uno.pool.maxLeaseMillis", 30_000);
+    private static final long IDLE_TIMEOUT_MS = 60_000;          // Idle connections older than this are closed
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;     // isValid() timeout on borrow
+
+    private static volatile ConnectionPool pool;
+
+    // Set once the schema has been migrated (db/migrations, or -Duno.migrations.dir; -Duno.migrations=false skips it)
+    private static volatile boolean schemaReady;
+
+    /**
+     * Returns the shared pooled DataSource, creating it on first use.
+     */
+    public static ConnectionPool getDataSource() {
+        ConnectionPool p = pool;
+        if (p == null) {
+            synchronized (DBConnector.class) {
+                p = pool;
+                if (p == null) {
+                    p = new ConnectionPool(DB_URL, USER, PASS, POOL_MAX_SIZE,
+                                           LEASE_TIMEOUT_MS, MAX_LEASE_MS, IDLE_TIMEOUT_MS, VALIDATION_TIMEOUT_SECONDS);
+                    pool = p;
+                }
+            }
+        }
+        return p;
+    }
 
     /**
-     * Establishes a connection to the MySQL database.
+     * Leases a pooled connection for the calling thread.
+     * Always use it in try-with-resources: close() hands it back to the pool.
+     * With -Duno.sql.profile=true the connection is wrapped so every statement is timed (see SqlProfiler).
+     * A lease held longer than the max lease time (-Duno.pool.maxLeaseMillis) is logged as a leak and revoked.
+     * @throws SQLException if the database is unreachable or the lease times out.
+     */
+    public static Connection leaseConnection() throws SQLException {
+        ConnectionPool p = getDataSource();
+        if (!schemaReady) {
+            migrateSchema(p);
+        }
+        return SqlProfiler.wrap(p.getConnection());
+    }
+
+    /**
+     * Leases a pooled connection that is kept for a whole session (the console demo, a benchmark run),
+     * so it is exempt from the max lease time. Still return it with close().
+     * @throws SQLException if the database is unreachable or the lease times out.
+     */
+    public static Connection leaseSessionConnection() throws SQLException {
+        ConnectionPool p = getDataSource();
+        if (!schemaReady) {
+            migrateSchema(p);
+        }
+        return SqlProfiler.wrap(p.getConnection(0));
+    }
+
+    /**
+     * Applies pending schema migrations once per run, before the first connection is handed out,
+     * then checks the hot queries' plans. If it fails, it is retried on the next lease.
+     */
+    private static synchronized void migrateSchema(ConnectionPool p) throws SQLException {
+        if (schemaReady) return;
+        if (!Boolean.parseBoolean(System.getProperty("uno.migrations", "true"))) {
+            schemaReady = true;
+            return;
+        }
+        SchemaMigrator migrator = new SchemaMigrator(Path.of(System.getProperty("uno.migrations.dir", "db/migrations")));
+        try (Connection conn = p.getConnection(0)) { // A data migration may legitimately run long
+            migrator.migrate(conn);
+            migrator.verifyQueryPlans(conn);
+        }
+        schemaReady = true;
+    }
+
+    /**
+     * Establishes a connection to the MySQL database (a session lease from the pool).
      * @return Connection object or null if connection fails.
      */
     public static Connection getConnection() {
-        Connection conn = null;
         try {
             System.out.println("Attempting to connect to database...");
-            conn = DriverManager.getConnection(DB_URL, USER, PASS);
+            Connection conn = leaseSessionConnection();
             System.out.println("Connection successful!");
             return conn;
         } catch (SQLException e) {
@@ -32,7 +111,7 @@ public class DBConnector {
     }
 
             /**
-         * Helper method to safely close the database connection.
+         * Helper method to safely return a connection to the pool.
          */
         public static void closeConnection(Connection conn) {
             if (conn != null) {
@@ -44,6 +123,44 @@ public class DBConnector {
             }
         }
 
+    /**
+     * Returns the current pool counters (active, idle, wait time, ...).
+     */
+    public static ConnectionPool.Stats getPoolStats() {
+        return getDataSource().getStats();
+    }
+
+    /**
+     * Closes every pooled connection. Called when the application exits.
+     */
+    public static void shutdown() {
+        ConnectionPool p = pool;
+        if (p != null) {
+            System.out.println(p.getStats());
+            p.shutdown();
+        }
+        if (SqlProfiler.isEnabled()) {
+            writeSqlProfile();
+        }
+    }
+
+    /**
+     * Prints the SQL profile, or writes it to -Duno.sql.profile.file when that is set.
+     */
+    private static void writeSqlProfile() {
+        String file = System.getProperty("uno.sql.profile.file");
+        if (file == null) {
+            System.out.println("\n--- SQL Profile ---\n" + SqlProfiler.report());
+            return;
+        }
+        try {
+            SqlProfiler.writeReport(Path.of(file));
+            System.out.println("SQL profile written to " + file);
+        } catch (java.io.IOException e) {
+            System.err.println("Could not write SQL profile: " + e.getMessage());
+        }
+    }
+
     /**
      * Simple test function to prove the connection works by reading card data.
      */
@@ -81,5 +198,6 @@ public class DBConnector {
 
     public static void main(String[] args) {
         testConnection();
+        shutdown();
     }
 }
\ No newline at end of file
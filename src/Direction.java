@@ -0,0 +1,34 @@
+// --- File: src/Direction.java ---
+
+/**
+ * Direction: The order of play, as stored in Game.direction.
+ */
+public enum Direction {
+    CLOCKWISE("clockwise"),
+    ANTICLOCKWISE("anticlockwise");
+
+    private final String dbName;
+
+    Direction(String dbName) {
+        this.dbName = dbName;
+    }
+
+    public String dbName() { return dbName; }
+
+    public boolean isClockwise() { return this == CLOCKWISE; }
+
+    public Direction reversed() {
+        return this == CLOCKWISE ? ANTICLOCKWISE : CLOCKWISE;
+    }
+
+    public static Direction of(boolean clockwise) {
+        return clockwise ? CLOCKWISE : ANTICLOCKWISE;
+    }
+
+    /**
+     * Parses a database direction name (any case). A missing direction means clockwise, the column default.
+     */
+    public static Direction fromName(String name) {
+        return name != null && name.equalsIgnoreCase(ANTICLOCKWISE.dbName) ? ANTICLOCKWISE : CLOCKWISE;
+    }
+}
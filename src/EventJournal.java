@@ -0,0 +1,177 @@
+// --- File: src/EventJournal.java ---
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * EventJournal: An append-only log of binary records stored in fixed-size, memory-mapped segment files.
+ *
+ * Record layout: [int payload length][int CRC32 of payload][payload bytes].
+ * The length is written last, so a record torn by a crash reads back as the end of the log.
+ * A length of 0 marks the end of a segment; appends that do not fit roll over to a new segment.
+ */
+public class EventJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int HEADER_BYTES = 8;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean forceOnAppend;
+
+    private int currentIndex;
+    private FileChannel currentChannel;
+    private MappedByteBuffer current;
+
+    public EventJournal(Path directory, int segmentBytes, boolean forceOnAppend) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.forceOnAppend = forceOnAppend;
+        Files.createDirectories(directory);
+
+        List<Integer> segments = listSegments();
+        if (segments.isEmpty()) {
+            openSegment(1);
+        } else {
+            openSegment(segments.get(segments.size() - 1));
+            int end = scan(current.duplicate(), null);
+            current.position(end);
+            // Clear anything a torn write left behind so it can never be read as a record
+            for (int i = end; i < segmentBytes; i++) {
+                if (current.get(i) != 0) current.put(i, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * Appends one record, rolling to a new segment when the current one is full.
+     */
+    public synchronized void append(byte[] payload) throws IOException {
+        int needed = HEADER_BYTES + payload.length;
+        if (needed + 4 > segmentBytes) throw new IOException("Record of " + payload.length + " bytes does not fit in a segment.");
+        if (current.remaining() < needed + 4) {
+            current.force();
+            openSegment(currentIndex + 1);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        int start = current.position();
+        current.position(start + HEADER_BYTES);
+        current.put(payload);
+        current.putInt(start + 4, (int) crc.getValue());
+        current.putInt(start, payload.length); // Commit point
+        if (forceOnAppend) {
+            current.force();
+        }
+    }
+
+    /**
+     * Feeds every intact record, oldest first, to the consumer.
+     */
+    public synchronized void replay(Consumer<ByteBuffer> consumer) throws IOException {
+        for (int index : listSegments()) {
+            if (index == currentIndex) {
+                scan(current.duplicate(), consumer);
+            } else {
+                try (FileChannel channel = FileChannel.open(segmentPath(index), StandardOpenOption.READ)) {
+                    scan(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), consumer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts a fresh segment and deletes all older ones. Call only after a snapshot covers every record written so far.
+     */
+    public synchronized void compact() throws IOException {
+        current.force();
+        openSegment(currentIndex + 1);
+        for (int index : listSegments()) {
+            if (index < currentIndex) {
+                try {
+                    Files.deleteIfExists(segmentPath(index));
+                } catch (IOException e) {
+                    // Still mapped on some platforms; replay skips its records by sequence number anyway
+                    System.err.println("Could not delete journal segment " + index + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    public synchronized void force() {
+        current.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        current.force();
+        currentChannel.close();
+    }
+
+    // --- Internal helpers ---
+
+    /**
+     * Walks the records in a segment and returns the offset just past the last intact one.
+     */
+    private int scan(ByteBuffer segment, Consumer<ByteBuffer> consumer) {
+        int pos = 0;
+        int limit = segment.limit();
+        CRC32 crc = new CRC32();
+        while (pos + HEADER_BYTES <= limit) {
+            int length = segment.getInt(pos);
+            if (length <= 0 || pos + HEADER_BYTES + length > limit) break;
+
+            ByteBuffer payload = segment.duplicate();
+            payload.position(pos + HEADER_BYTES).limit(pos + HEADER_BYTES + length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != segment.getInt(pos + 4)) break; // Torn or corrupt tail
+
+            if (consumer != null) {
+                consumer.accept(payload.slice());
+            }
+            pos += HEADER_BYTES + length;
+        }
+        return pos;
+    }
+
+    private void openSegment(int index) throws IOException {
+        if (currentChannel != null) {
+            currentChannel.close();
+        }
+        currentIndex = index;
+        currentChannel = FileChannel.open(segmentPath(index),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        current = currentChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private List<Integer> listSegments() throws IOException {
+        List<Integer> indexes = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                indexes.add(Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+            }
+        }
+        Collections.sort(indexes);
+        return indexes;
+    }
+}
@@ -0,0 +1,37 @@
+// --- File: src/GameChange.java ---
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * A simple data-holder describing one committed change to a game, pushed to GameChangeListeners.
+ *
+ * version increases by one for every change to the same game, so a listener can tell whether it
+ * has already seen a change. The other fields say which parts changed, so a client re-reads only those.
+ */
+public class GameChange {
+    public final int gameId;
+    public final long version;
+    public final boolean turnAdvanced;       // A move was committed: turn, top card, color, direction or draw stack may differ
+    public final GameStatus status;          // The turn state after the change (null if it did not change)
+    public final Set<Integer> handsChanged;  // Players whose hands gained or lost cards
+    public final boolean finished;
+    public final int winnerId;               // -1 unless finished
+
+    public GameChange(int gameId, long version, boolean turnAdvanced, GameStatus status,
+                      Set<Integer> handsChanged, boolean finished, int winnerId) {
+        this.gameId = gameId;
+        this.version = version;
+        this.turnAdvanced = turnAdvanced;
+        this.status = status;
+        this.handsChanged = Collections.unmodifiableSet(handsChanged);
+        this.finished = finished;
+        this.winnerId = winnerId;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GameChange[game=%d, v%d, turnAdvanced=%b, hands=%s, finished=%b]",
+                             gameId, version, turnAdvanced, handsChanged, finished);
+    }
+}
@@ -0,0 +1,11 @@
+// --- File: src/GameChangeListener.java ---
+
+/**
+ * Receives a GameChange after each committed change to a game.
+ *
+ * Called on the thread that made the change, in version order per game; implementations
+ * should hand work off (e.g. SwingUtilities.invokeLater) rather than block.
+ */
+public interface GameChangeListener {
+    void onGameChanged(GameChange change);
+}
@@ -0,0 +1,55 @@
+// --- File: src/GameChangeNotifier.java ---
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GameChangeNotifier: Keeps a monotonic state version per game and delivers GameChanges to listeners.
+ * Used by GameController (after each commit) and by the in-memory stores.
+ */
+public class GameChangeNotifier {
+
+    private final CopyOnWriteArrayList<GameChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final Map<Integer, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public void addListener(GameChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(GameChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns the latest version of a game's state (0 if nothing has changed yet).
+     */
+    public long currentVersion(int gameId) {
+        AtomicLong version = versions.get(gameId);
+        return version == null ? 0 : version.get();
+    }
+
+    /**
+     * Assigns the next version and notifies every listener. Changes to one game are numbered
+     * and delivered under that game's lock, so listeners see them in version order.
+     */
+    public void fire(int gameId, boolean turnAdvanced, GameStatus status, Set<Integer> handsChanged, boolean finished, int winnerId) {
+        AtomicLong version = versions.computeIfAbsent(gameId, id -> new AtomicLong());
+        synchronized (version) {
+            GameChange change = new GameChange(gameId, version.incrementAndGet(), turnAdvanced, status,
+                                               handsChanged, finished, winnerId);
+            for (GameChangeListener listener : listeners) {
+                try {
+                    listener.onGameChanged(change);
+                } catch (RuntimeException e) {
+                    System.err.println("Game change listener failed: " + e.getMessage());
+                }
+            }
+        }
+        if (finished) {
+            versions.remove(gameId);
+        }
+    }
+}
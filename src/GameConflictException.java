@@ -0,0 +1,22 @@
+// --- File: src/GameConflictException.java ---
+
+import java.sql.SQLException;
+
+/**
+ * Thrown when a move was based on a game state that another client has since changed
+ * (the Game row's version no longer matches), or when it is no longer the player's turn.
+ * Nothing was written; re-read the game status and decide again.
+ */
+public class GameConflictException extends SQLException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int gameId;
+
+    public GameConflictException(int gameId, String message) {
+        super(message, "40001"); // SQLSTATE serialization failure
+        this.gameId = gameId;
+    }
+
+    public int getGameId() { return gameId; }
+}
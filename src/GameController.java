@@ -3,8 +3,14 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
-import java.util.stream.Collectors;
 import java.util.Comparator;
+import java.util.Collections;
+import java.util.Random;
+import java.util.Set;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.security.SecureRandom;
 
 /**
  * GameController: Manages all UNO game logic and state manipulation via JDBC.
@@ -12,24 +18,76 @@ import java.util.Comparator;
  */
 public class GameController {
 
+    // Shuffles decks once per game (and again on every refill)
+    private final Random random = new SecureRandom();
+
+    // Turn state as of this controller's last commit per game, shared by every caller within a move.
+    // Entries carry the Game.version they were read at; if another client has moved since, the
+    // compare-and-set in processMove fails and the entry is re-read.
+    private final Map<Integer, GameStatus> committedStatus = new ConcurrentHashMap<>();
+
+    // Seating ring and direction per game, built once in startGame (or from GameSeats)
+    private final Map<Integer, GameSession> sessions = new ConcurrentHashMap<>();
+
+    // Highest Game.version per game that listeners have been told about. Kept apart from committedStatus,
+    // which is evicted after a failed move, so neither syncGame nor processMove announces a version twice.
+    private final Map<Integer, Integer> announcedVersion = new ConcurrentHashMap<>();
+
+    // Writes the Moves audit log (inline, group-commit or write-behind)
+    private final MoveJournal moveJournal;
+
+    // Tells listeners (the UI) what changed after every commit, so they don't re-read everything
+    private final GameChangeNotifier changeNotifier = new GameChangeNotifier();
+
+    // false = write the deal one statement per row, the baseline UnoBenchmark compares the batches against
+    boolean batchDealWrites = true;
+
+    public GameController() {
+        this(MoveJournal.fromSystemProperties());
+    }
+
+    public GameController(MoveJournal moveJournal) {
+        this.moveJournal = moveJournal;
+    }
+
+    public MoveJournal getMoveJournal() { return moveJournal; }
+
+    public void addGameChangeListener(GameChangeListener listener) { changeNotifier.addListener(listener); }
+
+    public void removeGameChangeListener(GameChangeListener listener) { changeNotifier.removeListener(listener); }
+
+    /**
+     * Flushes any queued move records and stops the journal writer. Called on application exit.
+     */
+    public void shutdown() {
+        moveJournal.shutdown();
+    }
+
     // --- Player Management Methods ---
 
     /**
-     * Inserts a new player into the Players table.
+     * Inserts a player into the Players table, or reuses the existing row with the same name.
+     * Returns the player's id either way (LAST_INSERT_ID(player_id) makes the reused id the generated key).
      */
-    public void addPlayer(Connection conn, String name, String type) throws SQLException {
-        String sql = "INSERT INTO Players (name, type) VALUES (?, ?)";
+    public int addPlayer(Connection conn, String name, String type) throws SQLException {
+        String sql = "INSERT INTO Players (name, type) VALUES (?, ?) " +
+                     "ON DUPLICATE KEY UPDATE type = VALUES(type), player_id = LAST_INSERT_ID(player_id)";
         
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             pstmt.setString(1, name);
             pstmt.setString(2, type); 
             pstmt.executeUpdate();
-            System.out.println("Player '" + name + "' added successfully.");
+            try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
         }
+        throw new SQLException("Failed to register player '" + name + "'.");
     }
     
     /**
-     * Retrieves all players from the database and returns them as a list of Player objects.
+     * Retrieves every registered player (across all games) and returns them as a list of Player objects.
      */
     public List<Player> listAllPlayers(Connection conn) throws SQLException {
         List<Player> players = new ArrayList<>();
@@ -49,98 +107,130 @@ public class GameController {
     }
 
     /**
-     * Resets the Players table and sets up a fresh session with 1 Human and N AI bots.
+     * Retrieves the players seated in one game, in seating order.
      */
-    public void setupSessionPlayers(Connection conn, int aiOpponentCount) throws SQLException {
-        try (Statement stmt = conn.createStatement()) {
-            stmt.execute("SET FOREIGN_KEY_CHECKS = 0");
-            stmt.executeUpdate("TRUNCATE TABLE Hands");
-            stmt.executeUpdate("TRUNCATE TABLE Moves");
-            stmt.executeUpdate("TRUNCATE TABLE Deck");
-            stmt.executeUpdate("TRUNCATE TABLE Game");
-            stmt.executeUpdate("TRUNCATE TABLE Players");
-            stmt.execute("SET FOREIGN_KEY_CHECKS = 1");
+    public List<Player> listGamePlayers(Connection conn, int gameId) throws SQLException {
+        List<Player> players = new ArrayList<>();
+        String sql = "SELECT P.player_id, P.name, P.type, P.score FROM GameSeats S " +
+                     "JOIN Players P ON P.player_id = S.player_id " +
+                     "WHERE S.game_id = ? ORDER BY S.seat_no";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, gameId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    players.add(new Player(rs.getInt("player_id"), rs.getString("name"), rs.getString("type"), rs.getInt("score")));
+                }
+            }
         }
+        return players;
+    }
+
+    /**
+     * Sets up a session with 1 Human and N AI bots and returns them in seating order.
+     * Players are matched by name, so this touches only their rows; other games and past results are left alone.
+     */
+    public List<Player> setupSessionPlayers(Connection conn, int aiOpponentCount) throws SQLException {
+        List<Player> players = new ArrayList<>();
 
         // Add Human Player
-        addPlayer(conn, "You", "human");
+        players.add(new Player(addPlayer(conn, "You", "human"), "You", "human", 0));
 
         // Add AI Players
         for (int i = 1; i <= aiOpponentCount; i++) {
-            addPlayer(conn, "AI Bot " + i, "AI");
+            String name = "AI Bot " + i;
+            players.add(new Player(addPlayer(conn, name, "AI"), name, "AI", 0));
         }
         
         System.out.println("Session setup with 1 Human and " + aiOpponentCount + " AI.");
+        return players;
     }
 
 
     // --- State Retrieval Methods ---
 
+    // Display order for hands (previously ORDER BY C.color, C.value in SQL)
+    private static final Comparator<Card> HAND_ORDER = Comparator.comparing(Card::getColor).thenComparing(Card::getValue);
+
     /**
      * Retrieves the data for a single card based on its ID.
+     * Served from the in-memory CardCatalog; the connection is only used for the first load.
      */
     public Card getCardDetails(Connection conn, int cardId) throws SQLException {
-        String sql = "SELECT card_id, color, value, points FROM Cards WHERE card_id = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, cardId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return new Card(rs.getInt("card_id"), rs.getString("color"), rs.getString("value"), rs.getInt("points"));
-                }
-                return null; // Card not found
-            }
-        }
+        CardCatalog.load(conn);
+        return CardCatalog.get(cardId); // null if card not found
     }
 
     /**
      * Retrieves the hand (list of Card objects) for a specific player in a specific game.
      */
     public List<Card> getPlayerHand(Connection conn, int gameId, int playerId) throws SQLException {
+        CardCatalog.load(conn);
         List<Card> hand = new ArrayList<>();
-        String sql = "SELECT C.card_id, C.color, C.value, C.points " +
-                     "FROM Hands H JOIN Cards C ON H.card_id = C.card_id " +
-                     "WHERE H.game_id = ? AND H.player_id = ? " +
-                     "ORDER BY C.color, C.value";
+        String sql = "SELECT card_id FROM Hands WHERE game_id = ? AND player_id = ?";
         try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, gameId);
             pstmt.setInt(2, playerId);
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    hand.add(new Card(rs.getInt("card_id"), rs.getString("color"), rs.getString("value"), rs.getInt("points")));
+                    hand.add(CardCatalog.get(rs.getInt("card_id")));
                 }
             }
         }
+        hand.sort(HAND_ORDER);
         return hand;
     }
     
     /**
      * Retrieves the current turn, direction, top card, AND pending draw stack.
+     * Returns the state this controller last committed for the game when it has one
+     * (zero queries), otherwise reads it with a single query.
      */
     public GameStatus getGameStatus(Connection conn, int gameId) throws SQLException {
-        String sql = "SELECT current_turn, direction, current_card_id, active_color, pending_draw_stack FROM Game WHERE game_id = ?";
+        GameStatus cached = committedStatus.get(gameId);
+        if (cached != null) {
+            return cached;
+        }
+        GameStatus status = readGameStatus(conn, gameId);
+        if (status != null) {
+            committedStatus.put(gameId, status);
+        }
+        return status;
+    }
+
+    /**
+     * Reads the turn state straight from the Game row in one round trip (top card comes from the CardCatalog).
+     * Use this when another client may have changed the game.
+     */
+    public GameStatus readGameStatus(Connection conn, int gameId) throws SQLException {
+        String sql = "SELECT current_turn, direction, current_card_id, active_color, pending_draw_stack, version FROM Game WHERE game_id = ?";
         try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, gameId);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
                     int currentTurn = rs.getInt("current_turn");
-                    String direction = rs.getString("direction");
+                    Direction direction = Direction.fromName(rs.getString("direction"));
                     int currentCardId = rs.getInt("current_card_id");
                     String activeColor = rs.getString("active_color"); 
                     int pendingDraws = rs.getInt("pending_draw_stack"); 
+                    int version = rs.getInt("version");
 
                     Card topCard = getCardDetails(conn, currentCardId);
                     
-                    if (topCard.isWild() && activeColor != null) {
-                        topCard.setColor(activeColor); 
-                    }
-                    
-                    return new GameStatus(currentTurn, direction, topCard, pendingDraws);
+                    return new GameStatus(currentTurn, direction, topCard, activeColor, pendingDraws, version);
                 }
                 return null;
             }
         }
     }
     
+    /**
+     * Drops the cached turn state for a game so the next getGameStatus reads it again.
+     */
+    public void invalidateGameStatus(int gameId) {
+        committedStatus.remove(gameId);
+    }
+
     /**
      * Retrieves a map of all players in the game and their current hand size.
      */
@@ -162,9 +252,237 @@ public class GameController {
     }
     
     /**
-     * Queries the database and aggregates statistics from all completed games.
+     * Delta sync for clients that share the database: returns the Moves rows after afterMoveId,
+     * the turn state if its version is no longer knownVersion, and the new hand sizes of the
+     * players who moved. Costs one primary-key read of Game plus index range reads proportional
+     * to the number of new moves, however long the game has run.
+     *
+     * Changes committed by another client are also announced to this controller's listeners,
+     * so a UI refreshes from a sync exactly as it does from a local move.
+     */
+    public GameDelta syncGame(Connection conn, int gameId, long afterMoveId, int knownVersion) throws SQLException {
+        CardCatalog.load(conn);
+
+        // 1. The Game row (primary key lookup)
+        GameStatus fresh;
+        boolean finished = false;
+        int winnerId = -1;
+        String sqlGame = "SELECT current_turn, direction, current_card_id, active_color, pending_draw_stack, version, status, winner_id " +
+                         "FROM Game WHERE game_id = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(sqlGame)) {
+            pstmt.setInt(1, gameId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) throw new SQLException("Game " + gameId + " does not exist.");
+                fresh = new GameStatus(rs.getInt("current_turn"), Direction.fromName(rs.getString("direction")), CardCatalog.get(rs.getInt("current_card_id")),
+                                       rs.getString("active_color"), rs.getInt("pending_draw_stack"), rs.getInt("version"));
+                finished = "finished".equalsIgnoreCase(rs.getString("status"));
+                if (finished) winnerId = rs.getInt("winner_id");
+            }
+        }
+
+        // 2. The moves the client has not seen (range read on Moves(game_id, move_id))
+        List<GameDelta.MoveRecord> moves = new ArrayList<>();
+        long lastMoveId = afterMoveId;
+        String sqlMoves = "SELECT move_id, player_id, card_id, action, turn_number FROM Moves " +
+                          "WHERE game_id = ? AND move_id > ? ORDER BY move_id";
+        try (PreparedStatement pstmt = conn.prepareStatement(sqlMoves)) {
+            pstmt.setInt(1, gameId);
+            pstmt.setLong(2, afterMoveId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    lastMoveId = rs.getLong("move_id");
+                    moves.add(new GameDelta.MoveRecord(lastMoveId, rs.getInt("player_id"), CardCatalog.get(rs.getInt("card_id")),
+                                                       rs.getString("action"), rs.getInt("turn_number")));
+                }
+            }
+        }
+
+        // 3. Hand sizes of the players who moved (a player missing from the result holds no cards)
+        Map<Integer, Integer> handCounts = new HashMap<>();
+        for (GameDelta.MoveRecord move : moves) {
+            handCounts.put(move.playerId, 0);
+        }
+        if (!handCounts.isEmpty()) {
+            String placeholders = String.join(", ", Collections.nCopies(handCounts.size(), "?"));
+            String sqlCounts = "SELECT player_id, COUNT(*) AS card_count FROM Hands " +
+                               "WHERE game_id = ? AND player_id IN (" + placeholders + ") GROUP BY player_id";
+            try (PreparedStatement pstmt = conn.prepareStatement(sqlCounts)) {
+                pstmt.setInt(1, gameId);
+                int index = 2;
+                for (int playerId : handCounts.keySet()) {
+                    pstmt.setInt(index++, playerId);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        handCounts.put(rs.getInt("player_id"), rs.getInt("card_count"));
+                    }
+                }
+            }
+        }
+
+        boolean statusChanged = fresh.getVersion() != knownVersion;
+        GameDelta delta = new GameDelta(gameId, lastMoveId, moves, statusChanged ? fresh : null, handCounts, finished, winnerId);
+
+        // A newer version than this controller committed means another client moved: adopt it and tell the listeners.
+        // An empty cache is not proof of that (it is evicted after a failed move), so only a version newer than
+        // the last one announced is announced.
+        GameStatus adopted = finished ? null
+                           : committedStatus.merge(gameId, fresh, (cached, read) -> read.getVersion() > cached.getVersion() ? read : cached);
+        if (adopted == fresh) {
+            sessions.remove(gameId); // Rebuilt on the next move with the current direction
+            if (markAnnounced(gameId, fresh.getVersion())) {
+                changeNotifier.fire(gameId, true, fresh, Set.copyOf(handCounts.keySet()), false, -1);
+            }
+        } else if (finished && sessions.containsKey(gameId)) {
+            // Another client ended a game this controller was still tracking
+            committedStatus.remove(gameId);
+            announcedVersion.remove(gameId);
+            sessions.remove(gameId);
+            changeNotifier.fire(gameId, false, null, Set.of(), true, winnerId);
+        }
+        return delta;
+    }
+
+    /**
+     * Records that listeners have been told about a game's version. Returns false if that version
+     * (or a newer one) was already announced, so exactly one caller fires for each version.
+     */
+    private boolean markAnnounced(int gameId, int version) {
+        boolean[] newer = { false };
+        announcedVersion.compute(gameId, (id, last) -> {
+            if (last != null && last >= version) return last;
+            newer[0] = true;
+            return version;
+        });
+        return newer[0];
+    }
+
+    // GameStats is split into this many rows (a game's moves count into row game_id % STATS_SLOTS),
+    // so concurrent games rarely update the same row. Reads sum a fixed number of rows.
+    static final int STATS_SLOTS = 16;
+
+    /**
+     * Returns the statistics of all completed games from the pre-aggregated GameStats table.
+     * Costs the same however long the history is. Backfills the table on first use.
      */
     public GameStatistics getGameStatistics(Connection conn) throws SQLException {
+        GameStatistics stats = readStatisticsCounters(conn);
+        if (stats == null) {
+            System.out.println("GameStats has not been backfilled. Backfilling from history (one time)...");
+            backfillStatistics(conn);
+            stats = readStatisticsCounters(conn);
+        }
+        return stats;
+    }
+
+    /**
+     * Sums the GameStats rows, or returns null if the table has not been backfilled yet
+     * (rows counted by moves before the backfill don't hold the older history).
+     */
+    private GameStatistics readStatisticsCounters(Connection conn) throws SQLException {
+        String sql = "SELECT MAX(backfilled), SUM(total_games_finished), SUM(total_turns_played), SUM(ai_wins), " +
+                     "SUM(human_wins), SUM(draw2_count), SUM(wild4_count) FROM GameStats";
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            if (!rs.next() || !rs.getBoolean(1)) return null;
+            GameStatistics stats = new GameStatistics();
+            stats.totalGamesFinished = rs.getInt(2);
+            stats.totalTurnsPlayed = rs.getInt(3);
+            stats.aiWins = rs.getInt(4);
+            stats.humanWins = rs.getInt(5);
+            stats.draw2Count = rs.getInt(6);
+            stats.wild4Count = rs.getInt(7);
+            return stats;
+        }
+    }
+
+    /**
+     * Rebuilds GameStats from the Game and Moves history in one transaction.
+     * Run once after creating the table (getGameStatistics does this automatically until it has run),
+     * or from StatsBackfill to repair drifted counters.
+     *
+     * Safe while games are in progress: every GameStats row is locked before the history is read, so a
+     * move or game end that commits meanwhile waits and is counted on top of the rebuilt totals, and the
+     * scan is bounded by the last move_id seen under that lock.
+     */
+    public void backfillStatistics(Connection conn) throws SQLException {
+        long startNanos = System.nanoTime();
+        conn.setAutoCommit(false);
+        try {
+            // 1. Create any missing slot rows and lock all of them (countMove and endGame write these rows)
+            try (PreparedStatement pstmt = conn.prepareStatement("INSERT IGNORE INTO GameStats (slot) VALUES (?)")) {
+                for (int slot = 0; slot < STATS_SLOTS; slot++) {
+                    pstmt.setInt(1, slot);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT slot FROM GameStats FOR UPDATE")) {
+                while (rs.next()) {
+                    // Just taking the locks
+                }
+            }
+
+            // 2. Flush queued Moves rows so the scan sees every move counted so far, then fix the scan's upper bound
+            moveJournal.flush();
+            long lastMoveId = 0;
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(move_id), 0) FROM Moves")) {
+                if (rs.next()) lastMoveId = rs.getLong(1);
+            }
+            GameStatistics totals = computeStatisticsFromHistory(conn, lastMoveId);
+
+            // 3. Overwrite the counters: all history goes into slot 0, the other slots start at zero
+            String sqlUpdate = "UPDATE GameStats SET total_games_finished = ?, total_turns_played = ?, ai_wins = ?, human_wins = ?, " +
+                               "draw2_count = ?, wild4_count = ?, backfilled = TRUE WHERE slot = ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sqlUpdate)) {
+                for (int slot = 0; slot < STATS_SLOTS; slot++) {
+                    boolean first = slot == 0;
+                    pstmt.setInt(1, first ? totals.totalGamesFinished : 0);
+                    pstmt.setInt(2, first ? totals.totalTurnsPlayed : 0);
+                    pstmt.setInt(3, first ? totals.aiWins : 0);
+                    pstmt.setInt(4, first ? totals.humanWins : 0);
+                    pstmt.setInt(5, first ? totals.draw2Count : 0);
+                    pstmt.setInt(6, first ? totals.wild4Count : 0);
+                    pstmt.setInt(7, slot);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            conn.commit();
+            System.out.printf("GameStats backfilled in %.1f ms.%n", (System.nanoTime() - startNanos) / 1_000_000.0);
+        } catch (SQLException e) {
+            System.err.println("Statistics backfill failed. Rolling back changes.");
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Adds one move to the running counters, inside the move's transaction.
+     * Creates the slot's row if it does not exist yet, so no move is ever left uncounted.
+     */
+    private void countMove(Connection conn, int gameId, Card card, String action) throws SQLException {
+        boolean played = action.equalsIgnoreCase("played");
+        String sql = "INSERT INTO GameStats (slot, total_turns_played, draw2_count, wild4_count) VALUES (?, 1, ?, ?) " +
+                     "ON DUPLICATE KEY UPDATE total_turns_played = total_turns_played + 1, " +
+                     "draw2_count = draw2_count + VALUES(draw2_count), wild4_count = wild4_count + VALUES(wild4_count)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, gameId % STATS_SLOTS);
+            pstmt.setInt(2, played && card.getCardValue() == CardValue.DRAW2 ? 1 : 0);
+            pstmt.setInt(3, played && card.getCardValue() == CardValue.WILD4 ? 1 : 0);
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Recomputes the statistics from the full history with aggregate scans over Game and Moves
+     * (moves up to lastMoveId). Only used to backfill GameStats; cost grows with the size of the history.
+     */
+    private GameStatistics computeStatisticsFromHistory(Connection conn, long lastMoveId) throws SQLException {
         GameStatistics stats = new GameStatistics();
         String sql;
         
@@ -177,9 +495,12 @@ public class GameController {
             }
 
             // 2. Get total turns played (sum of all moves)
-            sql = "SELECT COUNT(*) FROM Moves";
-            try (ResultSet rs = stmt.executeQuery(sql)) {
-                if (rs.next()) stats.totalTurnsPlayed = rs.getInt(1);
+            sql = "SELECT COUNT(*) FROM Moves WHERE move_id <= ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setLong(1, lastMoveId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) stats.totalTurnsPlayed = rs.getInt(1);
+                }
             }
             
             // 3. Get AI vs Human wins
@@ -200,17 +521,23 @@ public class GameController {
             // 4. Get Draw 2 count (only 'played' actions)
             sql = "SELECT COUNT(M.move_id) FROM Moves M " +
                   "JOIN Cards C ON M.card_id = C.card_id " +
-                  "WHERE C.value = 'draw2' AND M.action = 'played'";
-            try (ResultSet rs = stmt.executeQuery(sql)) {
-                if (rs.next()) stats.draw2Count = rs.getInt(1);
+                  "WHERE C.value = 'draw2' AND M.action = 'played' AND M.move_id <= ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setLong(1, lastMoveId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) stats.draw2Count = rs.getInt(1);
+                }
             }
 
             // 5. Get Wild Draw 4 count (only 'played' actions)
             sql = "SELECT COUNT(M.move_id) FROM Moves M " +
                   "JOIN Cards C ON M.card_id = C.card_id " +
-                  "WHERE C.value = 'wild4' AND M.action = 'played'";
-            try (ResultSet rs = stmt.executeQuery(sql)) {
-                if (rs.next()) stats.wild4Count = rs.getInt(1);
+                  "WHERE C.value = 'wild4' AND M.action = 'played' AND M.move_id <= ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setLong(1, lastMoveId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) stats.wild4Count = rs.getInt(1);
+                }
             }
             
         } catch (SQLException e) {
@@ -225,32 +552,65 @@ public class GameController {
     // --- Core Rule and Transactional Methods ---
 
     /**
-     * Selects a single random, available card_id from the Deck for the current game.
+     * Selects up to count card_ids from the top of the shuffled Deck for the current game.
+     * The deck order is fixed when the deck is shuffled, so this is a single index range read
+     * on (game_id, status, deck_position) instead of a random sort over the whole deck.
+     * Returns fewer ids than asked for when the deck runs low.
      */
-    private int selectAndLockCard(Connection conn, int gameId) throws SQLException {
-        String sql = "SELECT card_id FROM Deck WHERE game_id = ? AND status = 'in_deck' ORDER BY RAND() LIMIT 1";
+    private List<Integer> selectTopCards(Connection conn, int gameId, int count) throws SQLException {
+        List<Integer> cardIds = new ArrayList<>(count);
+        String sql = "SELECT card_id FROM Deck WHERE game_id = ? AND status = 'in_deck' ORDER BY deck_position LIMIT ?";
         try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, gameId);
+            pstmt.setInt(2, count);
             try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("card_id");
+                while (rs.next()) {
+                    cardIds.add(rs.getInt("card_id"));
                 }
-                throw new SQLException("Deck ran out of cards during dealing!"); 
             }
         }
+        return cardIds;
     }
 
     /**
      * Recycles the discard pile back into the draw deck.
+     * The recycled cards are shuffled and placed after every position used so far.
      */
     private void refillDeck(Connection conn, int gameId, int currentTopCardId) throws SQLException {
-        String sql = "UPDATE Deck SET status = 'in_deck' WHERE game_id = ? AND status = 'in_discard' AND card_id != ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        List<Integer> discardIds = new ArrayList<>();
+        int nextPosition = 1;
+
+        String sqlDiscard = "SELECT card_id FROM Deck WHERE game_id = ? AND status = 'in_discard' AND card_id != ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(sqlDiscard)) {
             pstmt.setInt(1, gameId);
             pstmt.setInt(2, currentTopCardId);
-            int rowsAffected = pstmt.executeUpdate();
-            System.out.println("Deck refilled with " + rowsAffected + " cards from the discard pile.");
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    discardIds.add(rs.getInt("card_id"));
+                }
+            }
+        }
+
+        String sqlMaxPosition = "SELECT COALESCE(MAX(deck_position), 0) + 1 FROM Deck WHERE game_id = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(sqlMaxPosition)) {
+            pstmt.setInt(1, gameId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) nextPosition = rs.getInt(1);
+            }
+        }
+
+        Collections.shuffle(discardIds, random);
+        String sql = "UPDATE Deck SET status = 'in_deck', deck_position = ? WHERE game_id = ? AND card_id = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int cardId : discardIds) {
+                pstmt.setInt(1, nextPosition++);
+                pstmt.setInt(2, gameId);
+                pstmt.setInt(3, cardId);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
         }
+        System.out.println("Deck refilled with " + discardIds.size() + " cards from the discard pile.");
     }
 
     /**
@@ -258,93 +618,144 @@ public class GameController {
      * Assumes it is being called *within* an existing transaction.
      */
     public Card drawCard(Connection conn, int gameId, int playerId) throws SQLException {
-        int cardId = -1;
-        Card drawnCard = null;
-        
-        GameStatus status = getGameStatus(conn, gameId); 
-        int currentTopCardId = status.getTopCard().getCardId();
+        return drawCard(conn, gameId, playerId, getGameStatus(conn, gameId));
+    }
 
-        try {
-            cardId = selectAndLockCard(conn, gameId);
-        } catch (SQLException e) {
-            if (e.getMessage().contains("Deck ran out")) {
+    /**
+     * Draws a card using a turn state the caller has already read for this move.
+     */
+    public Card drawCard(Connection conn, int gameId, int playerId, GameStatus status) throws SQLException {
+        return drawCards(conn, gameId, playerId, 1, status).get(0);
+    }
+
+    /**
+     * Draws count cards into a player's hand at once (e.g. paying a draw stack).
+     */
+    public List<Card> drawCards(Connection conn, int gameId, int playerId, int count) throws SQLException {
+        return drawCards(conn, gameId, playerId, count, getGameStatus(conn, gameId));
+    }
+
+    /**
+     * Draws count cards using a turn state the caller has already read for this move.
+     * The cards are reserved with one range read and one UPDATE, and added to the hand with one batch,
+     * so a stacked +8 costs three round trips instead of one set of queries per card.
+     * If the deck runs out part-way, the cards taken so far are marked first, then the discard pile
+     * is recycled and the rest are drawn from it.
+     */
+    public List<Card> drawCards(Connection conn, int gameId, int playerId, int count, GameStatus status) throws SQLException {
+        if (count < 1) return new ArrayList<>();
+        CardCatalog.load(conn);
+        List<Integer> drawnIds = new ArrayList<>(count);
+        boolean refilled = false;
+
+        while (drawnIds.size() < count) {
+            List<Integer> cardIds = selectTopCards(conn, gameId, count - drawnIds.size());
+            if (!cardIds.isEmpty()) {
+                // Take the cards out of the deck before any refill, so the refill cannot hand them out again
+                String placeholders = String.join(", ", Collections.nCopies(cardIds.size(), "?"));
+                String sqlUpdateDeck = "UPDATE Deck SET status = 'in_hand' WHERE game_id = ? AND card_id IN (" + placeholders + ")";
+                try (PreparedStatement pstmt = conn.prepareStatement(sqlUpdateDeck)) {
+                    pstmt.setInt(1, gameId);
+                    for (int i = 0; i < cardIds.size(); i++) {
+                        pstmt.setInt(i + 2, cardIds.get(i));
+                    }
+                    pstmt.executeUpdate();
+                }
+                drawnIds.addAll(cardIds);
+            }
+            if (drawnIds.size() < count) {
+                if (refilled) throw new SQLException("Deck ran out of cards: drew " + drawnIds.size() + " of " + count + ".");
                 System.out.println("Deck is empty! Initiating refill from discard pile...");
-                refillDeck(conn, gameId, currentTopCardId);
-                cardId = selectAndLockCard(conn, gameId);
-            } else {
-                throw e; 
+                refillDeck(conn, gameId, status.getTopCard().getCardId());
+                refilled = true;
             }
         }
 
-        if (cardId != -1) {
-            String sqlUpdateDeck = "UPDATE Deck SET status = 'in_hand' WHERE game_id = ? AND card_id = ?";
-            try (PreparedStatement pstmt = conn.prepareStatement(sqlUpdateDeck)) {
-                pstmt.setInt(1, gameId);
-                pstmt.setInt(2, cardId);
-                pstmt.executeUpdate();
-            }
-
-            String sqlInsertHand = "INSERT INTO Hands (game_id, player_id, card_id) VALUES (?, ?, ?)";
-            try (PreparedStatement pstmtInsert = conn.prepareStatement(sqlInsertHand)) {
+        String sqlInsertHand = "INSERT INTO Hands (game_id, player_id, card_id) VALUES (?, ?, ?)";
+        try (PreparedStatement pstmtInsert = conn.prepareStatement(sqlInsertHand)) {
+            for (int cardId : drawnIds) {
                 pstmtInsert.setInt(1, gameId);
                 pstmtInsert.setInt(2, playerId);
                 pstmtInsert.setInt(3, cardId);
-                pstmtInsert.executeUpdate();
+                pstmtInsert.addBatch();
             }
-            drawnCard = getCardDetails(conn, cardId);
+            pstmtInsert.executeBatch();
         }
-        return drawnCard;
+
+        List<Card> drawnCards = new ArrayList<>(drawnIds.size());
+        for (int cardId : drawnIds) {
+            drawnCards.add(CardCatalog.get(cardId));
+        }
+
+        // A draw on its own is committed now; one inside a move is announced with the move
+        if (conn.getAutoCommit()) {
+            changeNotifier.fire(gameId, false, null, Set.of(playerId), false, -1);
+        }
+        return drawnCards;
     }
 
     /**
-     * Deals 7 cards to each player and flips the first non-Wild card onto the discard pile.
+     * Shuffles the deck, deals 7 cards to each player and flips the first non-Wild card onto the discard pile.
+     * The whole deal is planned in memory first, then written with one batch per table
+     * (the driver rewrites each batch into multi-row statements).
      */
-    private void dealInitialCards(Connection conn, int gameId, List<Player> players) throws SQLException {
-        String sqlUpdateDeckStatus = "UPDATE Deck SET status = ? WHERE game_id = ? AND card_id = ?";
-        String sqlInsertHand = "INSERT INTO Hands (game_id, player_id, card_id) VALUES (?, ?, ?)";
-        for (Player player : players) {
-            for (int i = 0; i < 7; i++) {
-                int cardId = selectAndLockCard(conn, gameId); 
-                try(PreparedStatement pstmtUpdate = conn.prepareStatement(sqlUpdateDeckStatus)) {
-                    pstmtUpdate.setString(1, "in_hand");
-                    pstmtUpdate.setInt(2, gameId);
-                    pstmtUpdate.setInt(3, cardId);
-                    pstmtUpdate.executeUpdate();
-                }
-                try(PreparedStatement pstmtInsert = conn.prepareStatement(sqlInsertHand)) {
-                    pstmtInsert.setInt(1, gameId);
-                    pstmtInsert.setInt(2, player.getPlayerId());
-                    pstmtInsert.setInt(3, cardId);
-                    pstmtInsert.executeUpdate();
-                }
-            }
-            System.out.println("Dealt 7 cards to Player ID: " + player.getPlayerId());
+    private Card dealInitialCards(Connection conn, int gameId, List<Player> players) throws SQLException {
+        // --- 1. PLAN: shuffle the catalog and decide where every card goes ---
+        CardCatalog.load(conn);
+        List<Integer> deckOrder = new ArrayList<>();
+        for (Card card : CardCatalog.all()) {
+            deckOrder.add(card.getCardId());
         }
-        
-        // --- FLIP FIRST DISCARD CARD (Logic to avoid Wilds) ---
-        Card firstCard;
-        int firstCardId;
+        Collections.shuffle(deckOrder, random);
 
-        while (true) {
-            firstCardId = selectAndLockCard(conn, gameId);
-            firstCard = getCardDetails(conn, firstCardId);
-            
-            if (!firstCard.isWild()) {
+        int dealtCount = players.size() * 7;
+        if (deckOrder.size() <= dealtCount) throw new SQLException("Deck ran out of cards during dealing!");
+
+        // Skip over Wilds when picking the starting card; they stay in the deck in shuffled order
+        int firstCardIndex = dealtCount;
+        while (firstCardIndex < deckOrder.size()) {
+            if (!CardCatalog.get(deckOrder.get(firstCardIndex)).isWild()) {
                 break; // Found a valid starting card
             }
             System.out.println("Flipped a Wild card, re-drawing for a valid start card...");
+            firstCardIndex++;
         }
+        if (firstCardIndex == deckOrder.size()) throw new SQLException("No valid starting card left in the deck!");
+        Card firstCard = CardCatalog.get(deckOrder.get(firstCardIndex));
+        int firstCardId = firstCard.getCardId();
 
-        String activeColor = firstCard.getColor();
+        // --- 2. WRITE: the whole deck, with each card's final status ---
+        String sqlInsertDeck = "INSERT INTO Deck (game_id, card_id, status, deck_position) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sqlInsertDeck)) {
+            for (int i = 0; i < deckOrder.size(); i++) {
+                String status = i < dealtCount ? "in_hand" : (i == firstCardIndex ? "in_discard" : "in_deck");
+                pstmt.setInt(1, gameId);
+                pstmt.setInt(2, deckOrder.get(i));
+                pstmt.setString(3, status);
+                pstmt.setInt(4, i + 1);
+                addDealRow(pstmt);
+            }
+            pstmt.executeBatch();
+        }
 
-        try(PreparedStatement pstmtUpdate = conn.prepareStatement(sqlUpdateDeckStatus)) {
-            pstmtUpdate.setString(1, "in_discard");
-            pstmtUpdate.setInt(2, gameId);
-            pstmtUpdate.setInt(3, firstCardId);
-            pstmtUpdate.executeUpdate();
+        // --- 3. WRITE: every player's hand (cards are dealt 7 at a time from the top) ---
+        String sqlInsertHand = "INSERT INTO Hands (game_id, player_id, card_id) VALUES (?, ?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sqlInsertHand)) {
+            for (int p = 0; p < players.size(); p++) {
+                for (int i = 0; i < 7; i++) {
+                    pstmt.setInt(1, gameId);
+                    pstmt.setInt(2, players.get(p).getPlayerId());
+                    pstmt.setInt(3, deckOrder.get(p * 7 + i));
+                    addDealRow(pstmt);
+                }
+                System.out.println("Dealt 7 cards to Player ID: " + players.get(p).getPlayerId());
+            }
+            pstmt.executeBatch();
         }
-        
-        String sqlUpdateInitialCard = "UPDATE Game SET current_card_id = ?, active_color = ? WHERE game_id = ?";
+
+        // --- 4. WRITE: starting card, its color, and open the game ---
+        String activeColor = firstCard.getColor();
+        String sqlUpdateInitialCard = "UPDATE Game SET current_card_id = ?, active_color = ?, status = 'ongoing' WHERE game_id = ?";
         try (PreparedStatement pstmtUpdate = conn.prepareStatement(sqlUpdateInitialCard)) {
             pstmtUpdate.setInt(1, firstCardId);
             pstmtUpdate.setString(2, activeColor); // Set the active color
@@ -352,6 +763,15 @@ public class GameController {
             pstmtUpdate.executeUpdate();
         }
         System.out.println("Flipped initial card (" + firstCard.toString() + ") to discard pile.");
+        return firstCard;
+    }
+
+    private void addDealRow(PreparedStatement pstmt) throws SQLException {
+        if (batchDealWrites) {
+            pstmt.addBatch();
+        } else {
+            pstmt.executeUpdate();
+        }
     }
 
     /**
@@ -362,10 +782,11 @@ public class GameController {
         int firstPlayerId = players.get(0).getPlayerId();
         conn.setAutoCommit(false); 
         try {
-            String sqlInsertGame = "INSERT INTO Game (status, current_turn) VALUES (?, ?)";
+            String sqlInsertGame = "INSERT INTO Game (status, current_turn, direction) VALUES (?, ?, ?)";
             try (PreparedStatement pstmt = conn.prepareStatement(sqlInsertGame, Statement.RETURN_GENERATED_KEYS)) {
                 pstmt.setString(1, "setup");
                 pstmt.setInt(2, firstPlayerId);
+                pstmt.setString(3, Direction.CLOCKWISE.dbName());
                 pstmt.executeUpdate();
                 try (ResultSet rs = pstmt.getGeneratedKeys()) {
                     if (rs.next()) {
@@ -375,22 +796,27 @@ public class GameController {
             }
             if (gameId == -1) throw new SQLException("Failed to create new game entry.");
 
-            String sqlPopulateDeck = "INSERT INTO Deck (game_id, card_id, status) " +
-                                     "SELECT ?, card_id, 'in_deck' FROM Cards";
-            try (PreparedStatement pstmt = conn.prepareStatement(sqlPopulateDeck)) {
-                pstmt.setInt(1, gameId);
-                pstmt.executeUpdate();
+            // Seat the players; turn order is seat order
+            String sqlInsertSeat = "INSERT INTO GameSeats (game_id, seat_no, player_id) VALUES (?, ?, ?)";
+            try (PreparedStatement pstmt = conn.prepareStatement(sqlInsertSeat)) {
+                for (int seat = 0; seat < players.size(); seat++) {
+                    pstmt.setInt(1, gameId);
+                    pstmt.setInt(2, seat);
+                    pstmt.setInt(3, players.get(seat).getPlayerId());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
             }
-            System.out.println("Deck populated with 108 cards for Game ID: " + gameId);
-            
-            dealInitialCards(conn, gameId, players);
+
+            Card firstCard = dealInitialCards(conn, gameId, players);
             
-            String sqlUpdateStatus = "UPDATE Game SET status = 'ongoing' WHERE game_id = ?";
-            try(PreparedStatement pstmt = conn.prepareStatement(sqlUpdateStatus)){
-                pstmt.setInt(1, gameId);
-                pstmt.executeUpdate();
-            }
             conn.commit();
+            GameStatus initialStatus = new GameStatus(firstPlayerId, Direction.CLOCKWISE, firstCard, firstCard.getColor(), 0);
+            committedStatus.put(gameId, initialStatus);
+            int[] seats = players.stream().mapToInt(Player::getPlayerId).toArray();
+            sessions.put(gameId, new GameSession(gameId, seats, true));
+            markAnnounced(gameId, initialStatus.getVersion());
+            changeNotifier.fire(gameId, true, initialStatus, Arrays.stream(seats).boxed().collect(Collectors.toSet()), false, -1);
             System.out.println("Game ID " + gameId + " started! It is Player ID " + firstPlayerId + "'s turn.");
             return gameId;
         } catch (SQLException e) {
@@ -403,103 +829,178 @@ public class GameController {
     }
     
     /**
-     * Checks if a player's proposed card is a valid move, including STACKING logic.
+     * Checks if a player's proposed card is a valid move against the current game state.
      */
-    public boolean validateMove(Card playedCard, Card topCard, int pendingDrawStack) {
-        if (playedCard == null || topCard == null) return false;
-
-        // Rule 1: Stacking logic
-        if (pendingDrawStack > 0) {
-            if (playedCard.getValue().equalsIgnoreCase("draw2") && topCard.getValue().equalsIgnoreCase("draw2")) {
-                return true; 
-            }
-            if (playedCard.getValue().equalsIgnoreCase("wild4") && topCard.getValue().equalsIgnoreCase("wild4")) {
-                return true; 
-            }
-            return false; // Not a valid stack
-        }
-
-        // Rule 2: Wild cards can always be played (if not stacking)
-        if (playedCard.isWild()) {
-            return true;
-        }
+    public boolean validateMove(Card playedCard, GameStatus status) {
+        return UnoEngine.isValidMove(playedCard, status);
+    }
 
-        // Rule 3: Must match color OR number/action value (if not stacking)
-        boolean matchesColor = playedCard.getColor().equalsIgnoreCase(topCard.getColor());
-        boolean matchesValue = playedCard.getValue().equalsIgnoreCase(topCard.getValue());
-        
-        return (matchesColor || matchesValue);
+    /**
+     * Checks if a player's proposed card is a valid move, including STACKING logic.
+     * activeColor is the color in play (the chosen color when the top card is a Wild).
+     */
+    public boolean validateMove(Card playedCard, Card topCard, String activeColor, int pendingDrawStack) {
+        return UnoEngine.isValidMove(playedCard, topCard, activeColor, pendingDrawStack);
     }
     
     /**
-     * Calculates the ID of the next player, now including skipCount.
+     * Returns the seating ring for a game, building it once if this controller did not start the game.
      */
-    private int getNextPlayerId(Connection conn, int gameId, int currentPlayerId, int skipCount) throws SQLException {
-        List<Integer> playerOrder = new ArrayList<>();
-        String direction = "clockwise";
-        
-        try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT player_id FROM Players ORDER BY player_id")) {
-            while (rs.next()) {
-                playerOrder.add(rs.getInt("player_id"));
-            }
+    private GameSession getSession(Connection conn, int gameId) throws SQLException {
+        GameSession session = sessions.get(gameId);
+        if (session != null) {
+            return session;
         }
-        
-        String sqlDirection = "SELECT direction FROM Game WHERE game_id = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sqlDirection)) {
+
+        List<Integer> playerOrder = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT player_id FROM GameSeats WHERE game_id = ? ORDER BY seat_no")) {
             pstmt.setInt(1, gameId);
             try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    direction = rs.getString("direction");
+                while (rs.next()) {
+                    playerOrder.add(rs.getInt("player_id"));
                 }
             }
         }
-        
-        if (playerOrder.isEmpty()) throw new SQLException("Cannot determine next player: No players found.");
+        if (playerOrder.isEmpty()) throw new SQLException("Cannot determine next player: No players seated in game " + gameId + ".");
 
-        int currentIndex = playerOrder.indexOf(currentPlayerId);
-        int numPlayers = playerOrder.size();
-        int steps = 1 + skipCount; // 1 for normal turn, +1 for each skip
+        GameStatus status = getGameStatus(conn, gameId);
+        boolean clockwise = status == null || status.getDirection().isClockwise();
 
-        int nextIndex;
-        if (direction.equalsIgnoreCase("anticlockwise")) {
-            nextIndex = (currentIndex - steps + (numPlayers * steps)) % numPlayers; // Ensure positive index
-        } else { 
-            nextIndex = (currentIndex + steps) % numPlayers;
-        }
+        session = new GameSession(gameId, playerOrder.stream().mapToInt(Integer::intValue).toArray(), clockwise);
+        GameSession existing = sessions.putIfAbsent(gameId, session);
+        return existing != null ? existing : session;
+    }
 
-        return playerOrder.get(nextIndex);
+    /**
+     * Calculates the ID of the next player, now including skipCount.
+     * Pure arithmetic on the cached seating ring; the direction is passed in so a
+     * Reverse in the current (uncommitted) move is taken into account.
+     */
+    private int getNextPlayerId(GameSession session, int currentPlayerId, int skipCount, boolean clockwise) {
+        return session.nextPlayerId(currentPlayerId, skipCount, clockwise);
     }
 
 
+    // How many times a move is re-validated and retried after losing a version race
+    private static final int MAX_MOVE_ATTEMPTS = 3;
+
     /**
      * Executes a player's move, including handling special card logic AND STACKING.
+     * If another client changed the game first, the fresh state is re-read and the move is retried
+     * as long as it is still this player's turn and the move is still legal; otherwise the
+     * GameConflictException is passed on.
      */
     public boolean processMove(Connection conn, int gameId, int playerId, Card cardToPlay, String action, String nextColor) throws SQLException {
+        GameStatus status = getGameStatus(conn, gameId);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return processMove(conn, gameId, playerId, cardToPlay, action, nextColor, status);
+            } catch (GameConflictException e) {
+                if (attempt >= MAX_MOVE_ATTEMPTS) throw e;
+                System.out.println("Conflict on game " + gameId + " (" + e.getMessage() + "). Retrying with fresh state...");
+                status = readGameStatus(conn, gameId);
+                if (status == null) throw e;
+                committedStatus.put(gameId, status);
+            }
+        }
+    }
+
+    /**
+     * Executes a move using a turn state the caller has already read for this move,
+     * so one status read is shared by validation, drawing and the move itself.
+     *
+     * The Game row is updated first, with a compare-and-set on its version, so the move is
+     * applied only if the game is still in exactly the state the caller saw. No lock is held
+     * between reading the state and making the move. On a lost race nothing is written and a
+     * GameConflictException is thrown.
+     */
+    public boolean processMove(Connection conn, int gameId, int playerId, Card cardToPlay, String action, String nextColor, GameStatus status) throws SQLException {
+        if (status.getCurrentTurnPlayerId() != playerId) {
+            invalidateGameStatus(gameId);
+            throw new GameConflictException(gameId, "It is not player " + playerId + "'s turn.");
+        }
+        if (action.equalsIgnoreCase("played") && !UnoEngine.isValidMove(cardToPlay, status)) {
+            throw new SQLException("Invalid move: " + cardToPlay + " cannot be played on " + status.describeTopCard() + ".");
+        }
+
         conn.setAutoCommit(false); 
         
-        int skipCount = 0;
-        String cardValue = cardToPlay.getValue();
+        GameStatus newStatus;
         
-        GameStatus status = getGameStatus(conn, gameId);
         int currentPendingDraws = status.getPendingDrawStack(); 
+        GameSession session = null;
+        MoveJournal.Entry moveEntry = null;
 
         try {
-            // 1. LOG THE MOVE
-            String sqlLogMove = "INSERT INTO Moves (game_id, player_id, card_id, action, turn_number) " +
-                                "VALUES (?, ?, ?, ?, (SELECT COUNT(*)+1 FROM Moves AS M WHERE M.game_id = ?))"; 
-            try (PreparedStatement pstmt = conn.prepareStatement(sqlLogMove)) {
-                pstmt.setInt(1, gameId);
-                pstmt.setInt(2, playerId);
-                pstmt.setInt(3, cardToPlay.getCardId());
-                pstmt.setString(4, action);
-                pstmt.setInt(5, gameId);
-                pstmt.executeUpdate();
+            session = getSession(conn, gameId);
+            boolean clockwise = status.getDirection().isClockwise();
+
+            // 1. WORK OUT THE NEW GAME STATE AND CLAIM IT (compare-and-set on Game.version)
+            if (action.equalsIgnoreCase("played")) {
+
+                // --- APPLY SPECIAL CARD LOGIC (rules shared with the in-memory engine) ---
+                UnoEngine.CardEffect effect = UnoEngine.effectOf(cardToPlay, currentPendingDraws);
+                int newPendingDraws = effect.newPendingDraws;
+                int skipCount = effect.skipCount;
+                
+                if (effect.reverse) {
+                    // The new direction is written together with the rest of the Game row below
+                    clockwise = !clockwise;
+                    System.out.println("!!! Game direction REVERSED to " + (clockwise ? "clockwise" : "anticlockwise"));
+                } else if (newPendingDraws > 0) {
+                    System.out.println("!!! Draw stack is now " + newPendingDraws);
+                } else if (skipCount > 0) {
+                    System.out.println("!!! Next player will be SKIPPED.");
+                }
+                
+                // --- GET FINAL NEXT PLAYER (accounts for skips)
+                int finalNextPlayerId = getNextPlayerId(session, playerId, skipCount, clockwise);
+                Direction newDirection = Direction.of(clockwise);
+                CardColor colorToSet = cardToPlay.isWild() ? CardColor.fromName(nextColor) : cardToPlay.getCardColor();
+
+                // Update the central Game State (Top Card, Next Turn, Active Color, Pending Draws, Direction)
+                String sqlUpdateGame = "UPDATE Game SET current_card_id = ?, current_turn = ?, active_color = ?, pending_draw_stack = ?, direction = ?, version = version + 1 " +
+                                       "WHERE game_id = ? AND version = ?";
+                
+                try (PreparedStatement pstmt = conn.prepareStatement(sqlUpdateGame)) {
+                    pstmt.setInt(1, cardToPlay.getCardId());
+                    pstmt.setInt(2, finalNextPlayerId);
+                    pstmt.setString(3, colorToSet != null ? colorToSet.dbName() : null);
+                    pstmt.setInt(4, newPendingDraws); 
+                    pstmt.setString(5, newDirection.dbName());
+                    pstmt.setInt(6, gameId);
+                    pstmt.setInt(7, status.getVersion());
+                    if (pstmt.executeUpdate() == 0) throw staleStatus(gameId, status);
+                }
+                newStatus = new GameStatus(finalNextPlayerId, newDirection, cardToPlay, colorToSet, newPendingDraws, status.getVersion() + 1);
+
+            } else if (action.equalsIgnoreCase("drawn_and_passed")) {
+                int finalNextPlayerId = getNextPlayerId(session, playerId, 0, clockwise); // No skip
+                
+                // Update the turn AND RESET the draw stack
+                String sqlUpdateGameTurn = "UPDATE Game SET current_turn = ?, pending_draw_stack = 0, version = version + 1 WHERE game_id = ? AND version = ?";
+                try (PreparedStatement pstmt = conn.prepareStatement(sqlUpdateGameTurn)) {
+                    pstmt.setInt(1, finalNextPlayerId);
+                    pstmt.setInt(2, gameId);
+                    pstmt.setInt(3, status.getVersion());
+                    if (pstmt.executeUpdate() == 0) throw staleStatus(gameId, status);
+                }
+                newStatus = new GameStatus(finalNextPlayerId, status.getDirection(), status.getTopCard(), status.getActiveCardColor(), 0, status.getVersion() + 1);
+            } else {
+                throw new SQLException("Unknown action: " + action);
             }
+            // From here on this transaction holds the Game row, so the rest of the move cannot race.
+            countMove(conn, gameId, cardToPlay, action);
+
+            // 2. LOG THE MOVE. turn_number is the version this move claimed: the compare-and-set above
+            //    gives each version to exactly one move, on every client, even before queued Moves rows land.
+            //    In SYNC mode the row is written in this transaction; otherwise it is queued after commit.
+            int turnNumber = newStatus.getVersion();
+            moveEntry = new MoveJournal.Entry(gameId, playerId, cardToPlay.getCardId(), action, turnNumber);
+            moveJournal.recordInTransaction(conn, moveEntry);
             System.out.printf("Move Logged: Player %d performed action '%s' with card %s.%n", playerId, action, cardToPlay.toString());
             
-            
-            // 2. UPDATE HANDS, DECK, AND GAME STATE
+            // 3. UPDATE HANDS AND DECK
             if (action.equalsIgnoreCase("played")) {
                 
                 // A. Remove card from player's hand
@@ -508,7 +1009,9 @@ public class GameController {
                     pstmt.setInt(1, gameId);
                     pstmt.setInt(2, playerId);
                     pstmt.setInt(3, cardToPlay.getCardId());
-                    pstmt.executeUpdate();
+                    if (pstmt.executeUpdate() == 0) {
+                        throw new SQLException("Player " + playerId + " does not hold " + cardToPlay + ".");
+                    }
                 }
                 
                 // B. Update card status in Deck to 'in_discard'
@@ -519,86 +1022,40 @@ public class GameController {
                     pstmt.executeUpdate();
                 }
 
-                // --- C. APPLY SPECIAL CARD LOGIC (UPDATED FOR STACKING) ---
-                int newPendingDraws = 0;
-                
-                if (cardValue.equalsIgnoreCase("reverse")) {
-                    String newDirection = status.getDirection().equalsIgnoreCase("clockwise") ? "anticlockwise" : "clockwise";
-                    String sqlReverse = "UPDATE Game SET direction = ? WHERE game_id = ?";
-                    try (PreparedStatement pstmt = conn.prepareStatement(sqlReverse)) {
-                        pstmt.setString(1, newDirection);
-                        pstmt.setInt(2, gameId);
-                        pstmt.executeUpdate();
-                    }
-                    System.out.println("!!! Game direction REVERSED to " + newDirection);
-                
-                } else if (cardValue.equalsIgnoreCase("skip")) {
-                    skipCount = 1;
-                    System.out.println("!!! Next player will be SKIPPED.");
-                
-                } else if (cardValue.equalsIgnoreCase("draw2")) {
-                    newPendingDraws = currentPendingDraws + 2; // ADD to the stack
-                    skipCount = 1; 
-                    System.out.println("!!! Draw stack is now " + newPendingDraws);
-                
-                } else if (cardValue.equalsIgnoreCase("wild4")) {
-                    newPendingDraws = currentPendingDraws + 4; // ADD to the stack
-                    skipCount = 1; 
-                    System.out.println("!!! Draw stack is now " + newPendingDraws);
-                }
-                
-                // --- D. GET FINAL NEXT PLAYER (accounts for skips)
-                int finalNextPlayerId = getNextPlayerId(conn, gameId, playerId, skipCount);
-
-                // E. Update the central Game State (Top Card, Next Turn, Active Color, Pending Draws)
-                String sqlUpdateGame = "UPDATE Game SET current_card_id = ?, current_turn = ?, active_color = ?, pending_draw_stack = ? WHERE game_id = ?";
-                
-                String colorToSet = cardToPlay.isWild() ? nextColor : cardToPlay.getColor();
-                
-                try (PreparedStatement pstmt = conn.prepareStatement(sqlUpdateGame)) {
-                    pstmt.setInt(1, cardToPlay.getCardId());
-                    pstmt.setInt(2, finalNextPlayerId);
-                    pstmt.setString(3, colorToSet);
-                    pstmt.setInt(4, newPendingDraws); 
-                    pstmt.setInt(5, gameId);
-                    pstmt.executeUpdate();
-                }
-                System.out.printf("Turn successfully passed to Player ID %d.%n", finalNextPlayerId);
-
-            } else if (action.equalsIgnoreCase("drawn_and_passed")) {
+            } else {
                 // Player is drawing/passing. This means they must PAY the draw stack penalty.
                 int penalty = currentPendingDraws;
                 if (penalty > 0) {
                     System.out.printf("!!! Player %d must draw the STACK of %d cards!%n", playerId, penalty);
-                    for (int i = 0; i < penalty; i++) {
-                        drawCard(conn, gameId, playerId); 
-                    }
-                }
-                
-                int finalNextPlayerId = getNextPlayerId(conn, gameId, playerId, 0); // No skip
-                
-                // Update the turn AND RESET the draw stack
-                String sqlUpdateGameTurn = "UPDATE Game SET current_turn = ?, pending_draw_stack = 0 WHERE game_id = ?";
-                try (PreparedStatement pstmt = conn.prepareStatement(sqlUpdateGameTurn)) {
-                    pstmt.setInt(1, finalNextPlayerId);
-                    pstmt.setInt(2, gameId);
-                    pstmt.executeUpdate();
+                    drawCards(conn, gameId, playerId, penalty, status);
                 }
-                System.out.printf("Turn successfully passed to Player ID %d.%n", finalNextPlayerId);
             }
             
             conn.commit();
+            committedStatus.put(gameId, newStatus);
+            session.setClockwise(newStatus.getDirection().isClockwise()); // Update the ring after a committed Reverse
+            moveJournal.recordAfterCommit(moveEntry);
+            boolean handChanged = action.equalsIgnoreCase("played") || currentPendingDraws > 0;
+            if (markAnnounced(gameId, newStatus.getVersion())) { // A sync right after the commit may have announced it already
+                changeNotifier.fire(gameId, true, newStatus, handChanged ? Set.of(playerId) : Set.of(), false, -1);
+            }
+            System.out.printf("Turn successfully passed to Player ID %d.%n", newStatus.getCurrentTurnPlayerId());
             return true;
 
         } catch (SQLException e) {
             System.err.println("Move processing failed. Rolling back transaction.");
             conn.rollback(); 
+            invalidateGameStatus(gameId);
             throw e;
         } finally {
             conn.setAutoCommit(true);
         }
     }
 
+    private GameConflictException staleStatus(int gameId, GameStatus status) {
+        return new GameConflictException(gameId, "Game " + gameId + " changed since version " + status.getVersion() + ".");
+    }
+
     // --- AI Strategy Method ---
 
     /**
@@ -606,50 +1063,7 @@ public class GameController {
      * It scores all valid moves and picks the best one.
      */
     public AIDecision getAIDecision(List<Card> validMoves, List<Card> fullHand) {
-        
-        Card bestCard = null;
-        int bestScore = -1;
-        String chosenColor = null;
-
-        // 1. Score and find the highest-scoring card
-        for (Card card : validMoves) {
-            int score = 0;
-            String value = card.getValue();
-
-            switch (value) {
-                case "wild4":   score = 100; break;
-                case "draw2":   score = 80;  break;
-                case "skip":
-                case "reverse": score = 70;  break;
-                case "wild":    score = 60;  break;
-                default:
-                    try {
-                        score = Integer.parseInt(value);
-                    } catch (NumberFormatException e) {
-                        score = 0; 
-                    }
-                    break;
-            }
-
-            if (score > bestScore) {
-                bestScore = score;
-                bestCard = card;
-            }
-        }
-
-        // 2. If a Wild card was chosen, determine the best color
-        if (bestCard != null && bestCard.isWild()) {
-            Map<String, Long> colorCounts = fullHand.stream()
-                .filter(c -> !c.isWild()) 
-                .collect(Collectors.groupingBy(Card::getColor, Collectors.counting()));
-
-            chosenColor = colorCounts.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("red"); 
-        }
-
-        return new AIDecision(bestCard, chosenColor);
+        return UnoEngine.getAIDecision(validMoves, fullHand);
     }
     
     // --- NEW: Method to end the game and record the winner ---
@@ -658,15 +1072,49 @@ public class GameController {
      * This is essential for the Stats page to work.
      */
     public void endGame(Connection conn, int gameId, int winnerId) throws SQLException {
-        // This query sets the game status and winner ID
-        String sql = "UPDATE Game SET status = 'finished', winner_id = ? WHERE game_id = ?";
-        
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, winnerId);
-            pstmt.setInt(2, gameId);
-            pstmt.executeUpdate();
-            
+        // Make sure the full move history is in Moves before the game is closed
+        moveJournal.flush();
+
+        conn.setAutoCommit(false);
+        try {
+            // This query sets the game status and winner ID (only once, so a repeated call is not counted twice)
+            String sql = "UPDATE Game SET status = 'finished', winner_id = ? WHERE game_id = ? AND status <> 'finished'";
+            int finished;
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, winnerId);
+                pstmt.setInt(2, gameId);
+                finished = pstmt.executeUpdate();
+            }
+
+            if (finished > 0) {
+                // Count the result in the same transaction (creating the slot's row if needed, like countMove)
+                String sqlStats = "INSERT INTO GameStats (slot, total_games_finished, ai_wins, human_wins) VALUES (?, 1, " +
+                                  "(SELECT COUNT(*) FROM Players WHERE player_id = ? AND type = 'AI'), " +
+                                  "(SELECT COUNT(*) FROM Players WHERE player_id = ? AND type <> 'AI')) " +
+                                  "ON DUPLICATE KEY UPDATE total_games_finished = total_games_finished + 1, " +
+                                  "ai_wins = ai_wins + VALUES(ai_wins), human_wins = human_wins + VALUES(human_wins)";
+                try (PreparedStatement pstmt = conn.prepareStatement(sqlStats)) {
+                    pstmt.setInt(1, gameId % STATS_SLOTS);
+                    pstmt.setInt(2, winnerId);
+                    pstmt.setInt(3, winnerId);
+                    pstmt.executeUpdate();
+                }
+            }
+            conn.commit();
+            if (finished > 0) {
+                changeNotifier.fire(gameId, false, null, Set.of(), true, winnerId);
+            }
             System.out.println("Game ID " + gameId + " marked as 'finished'. Winner: " + winnerId);
+        } catch (SQLException e) {
+            System.err.println("Failed to finish game. Rolling back changes.");
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
         }
+        // Other games keep running on this controller; drop the finished one's cached state
+        committedStatus.remove(gameId);
+        announcedVersion.remove(gameId);
+        sessions.remove(gameId);
     }
 }
\ No newline at end of file
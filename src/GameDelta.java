@@ -0,0 +1,70 @@
+// --- File: src/GameDelta.java ---
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A simple data-holder for what changed in a game since a client last synced (see GameController.syncGame).
+ *
+ * moves are the Moves rows after the client's last-seen move_id, oldest first. status is the turn state
+ * (top card, turn, direction, color, draw stack) if its version differs from the client's, otherwise null.
+ * handCounts holds the new hand sizes of the players who moved, not of everyone.
+ */
+public class GameDelta {
+    public final int gameId;
+    public final long lastMoveId;                 // Pass back as afterMoveId on the next sync
+    public final List<MoveRecord> moves;
+    public final GameStatus status;               // null if unchanged
+    public final Map<Integer, Integer> handCounts; // player_id -> cards held, for players in moves
+    public final boolean finished;
+    public final int winnerId;                    // -1 unless finished
+
+    public GameDelta(int gameId, long lastMoveId, List<MoveRecord> moves, GameStatus status,
+                     Map<Integer, Integer> handCounts, boolean finished, int winnerId) {
+        this.gameId = gameId;
+        this.lastMoveId = lastMoveId;
+        this.moves = Collections.unmodifiableList(moves);
+        this.status = status;
+        this.handCounts = Collections.unmodifiableMap(handCounts);
+        this.finished = finished;
+        this.winnerId = winnerId;
+    }
+
+    /**
+     * True if nothing has changed since the client's last sync.
+     */
+    public boolean isEmpty() {
+        return moves.isEmpty() && status == null && !finished;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GameDelta[game=%d, moves=%d, lastMoveId=%d, statusChanged=%b, hands=%s, finished=%b]",
+                             gameId, moves.size(), lastMoveId, status != null, handCounts, finished);
+    }
+
+    /**
+     * One row of the Moves log.
+     */
+    public static class MoveRecord {
+        public final long moveId;
+        public final int playerId;
+        public final Card card;
+        public final String action;
+        public final int turnNumber;
+
+        public MoveRecord(long moveId, int playerId, Card card, String action, int turnNumber) {
+            this.moveId = moveId;
+            this.playerId = playerId;
+            this.card = card;
+            this.action = action;
+            this.turnNumber = turnNumber;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("#%d turn %d: player %d %s %s", moveId, turnNumber, playerId, action, card);
+        }
+    }
+}
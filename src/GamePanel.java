@@ -7,8 +7,8 @@ import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.SplittableRandom;
 import java.awt.image.BufferedImage;
-import java.util.stream.Collectors;
 import javax.swing.JTextArea;
 import javax.swing.JScrollPane;
 import javax.swing.border.Border; // Import for Border
@@ -18,13 +18,21 @@ public class GamePanel extends AnimatedPanel { // Extends AnimatedPanel for fadi
 
     // --- Core Game Components ---
     private UNOAppManager appManager; 
-    private GameController gameController;
-    private Connection conn;
+    private GameStore gameStore;
     private List<Player> activePlayers;
     private int gameId;
     private int humanPlayerId = 1; 
     private boolean isMyTurn = false;
 
+    // --- Change Notification ---
+    private long lastSeenVersion = 0;         // Last state version shown on screen (EDT only)
+    private int lastTurnVersion = -1;         // Game.version of the last turn refreshTurn acted on (EDT only)
+    private volatile boolean gameOver = false; // Set once somebody wins, so late changes don't start another turn
+    // -Duno.ai=montecarlo gives the bots the look-ahead AI (thinking time -Duno.ai.budgetMillis, default 300)
+    private final MonteCarloStrategy lookAheadAI = "montecarlo".equalsIgnoreCase(System.getProperty("uno.ai"))
+            ? new MonteCarloStrategy(Long.getLong("uno.ai.budgetMillis", 300L)) : null;
+    private final GameChangeListener changeListener = change -> SwingUtilities.invokeLater(() -> onGameChanged(change));
+
     // --- GUI Components ---
     private JPanel opponentPanel;
     private JPanel discardPilePanel;
@@ -47,19 +55,18 @@ public class GamePanel extends AnimatedPanel { // Extends AnimatedPanel for fadi
     // --- Constructor ---
     public GamePanel(UNOAppManager manager) {
         this.appManager = manager;
-        this.gameController = appManager.getGameController();
-        this.conn = appManager.getConnection();
+        this.gameStore = appManager.getGameStore();
         
         setLayout(new BorderLayout(10, 10)); 
         
         opponentLabels = new HashMap<>();
         try {
-            activePlayers = gameController.listAllPlayers(conn);
+            activePlayers = gameStore.listAllPlayers();
             humanPlayerId = activePlayers.stream()
                                   .filter(p -> p.getType().equalsIgnoreCase("human"))
                                   .findFirst().map(Player::getPlayerId).orElse(1); 
             
-            gameId = gameController.startGame(conn, activePlayers);
+            gameId = gameStore.startGame(activePlayers);
         } catch (Exception e) {
             e.printStackTrace();
             JOptionPane.showMessageDialog(this, "Failed to start game: " + e.getMessage());
@@ -84,9 +91,20 @@ public class GamePanel extends AnimatedPanel { // Extends AnimatedPanel for fadi
 
         log("--- New Game Started (ID: " + gameId + ") ---");
         refreshGameState();
+        // From now on the screen is updated from change notifications instead of re-reading everything
+        gameStore.addGameChangeListener(changeListener);
         
         fadeIn(); // Fade in the game panel
     }
+
+    /**
+     * Stops listening for changes. Called by the AppManager when this game's panel is replaced.
+     */
+    public void close() {
+        gameStore.removeGameChangeListener(changeListener);
+        gameOver = true;
+        turnIndicatorTimer.stop();
+    }
     
     // --- GUI Creation Methods (Styled) ---
 
@@ -167,94 +185,139 @@ public class GamePanel extends AnimatedPanel { // Extends AnimatedPanel for fadi
     // --- All Helper Methods ---
 
     /**
-     * REFRESH METHOD - UPDATED with animation logic.
+     * Applies one pushed change, re-reading only the parts it says have changed.
      */
-    private void refreshGameState() {
+    private void onGameChanged(GameChange change) {
+        if (change.gameId != gameId || change.version <= lastSeenVersion || gameOver) return;
+        lastSeenVersion = change.version;
+        if (change.finished) return; // The win dialog is shown by whoever ended the game
+
         try {
-            GameStatus status = gameController.getGameStatus(conn, gameId);
-            if (status == null) return; 
-            
-            int currentPlayerId = status.getCurrentTurnPlayerId();
-            int pendingDraws = status.getPendingDrawStack();
-            Card topCard = status.getTopCard();
-            
-            Player currentPlayer = activePlayers.stream()
-                    .filter(p -> p.getPlayerId() == currentPlayerId)
-                    .findFirst().orElse(null);
-
-            // 1. LOG THE NEW TURN
-            log(String.format("--- Turn for %s ---", currentPlayer.getName()));
-            log("Top Card: " + topCard.toString());
-            if (pendingDraws > 0) {
-                log("!! PENDING DRAW STACK: " + pendingDraws + " !!");
+            if (change.handsChanged.contains(humanPlayerId)) {
+                refreshHand();
             }
-            log("Current Player: " + currentPlayer.getName());
-
-            // 2. Update Top Card Image
-            String topCardImagePath;
-            String cardValue = topCard.getValue().toLowerCase();
-            String cardColor = topCard.getColor().toLowerCase();
-            if (topCard.isWild()) {
-                topCardImagePath = "images/power_cards/" + cardValue + ".png";
-            } else {
-                if (cardValue.equals("skip") || cardValue.equals("reverse") || cardValue.equals("draw2")) {
-                    topCardImagePath = "images/power_cards/" + cardColor + "_" + cardValue + ".png";
-                } else {
-                    topCardImagePath = "images/" + cardColor + "/" + cardValue + ".png";
+            if (change.handsChanged.stream().anyMatch(id -> id != humanPlayerId)) {
+                refreshOpponentCounts();
+            }
+            if (change.turnAdvanced) {
+                GameStatus status = change.status != null ? change.status : gameStore.getGameStatus(gameId);
+                // The same game version can be announced twice (a local commit and a sync); act on each turn once
+                if (status.getVersion() > lastTurnVersion) {
+                    refreshTurn(status);
                 }
             }
-            topCardLabel.setIcon(getScaledIcon(topCardImagePath, 100, 150));
-            topCardLabel.setText(null);
+        } catch (Exception e) {
+            e.printStackTrace();
+            JOptionPane.showMessageDialog(this, "Error refreshing game: " + e.getMessage(), "DB Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * FULL REFRESH - re-reads status, hand and counts. Used when the game opens and after errors.
+     */
+    private void refreshGameState() {
+        try {
+            GameStatus status = gameStore.getGameStatus(gameId);
+            if (status == null) return; 
 
+            refreshHand();
+            refreshOpponentCounts();
+            refreshTurn(status);
+
+        } catch (Exception e) {
+            e.printStackTrace();
+            JOptionPane.showMessageDialog(this, "Error refreshing game: " + e.getMessage(), "DB Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
 
-            // 3. Update Player Hand
-            playerHandPanel.removeAll(); 
-            List<Card> humanHand = gameController.getPlayerHand(conn, gameId, humanPlayerId);
-            for (Card card : humanHand) {
-                playerHandPanel.add(createCardButton(card)); // Will now create a PopUpCardButton
+    /**
+     * Shows the new turn: log, top card, and whose turn it is (with animation), then starts the AI if needed.
+     */
+    private void refreshTurn(GameStatus status) {
+        lastTurnVersion = Math.max(lastTurnVersion, status.getVersion());
+        int currentPlayerId = status.getCurrentTurnPlayerId();
+        int pendingDraws = status.getPendingDrawStack();
+        Card topCard = status.getTopCard();
+        
+        Player currentPlayer = activePlayers.stream()
+                .filter(p -> p.getPlayerId() == currentPlayerId)
+                .findFirst().orElse(null);
+
+        // 1. LOG THE NEW TURN
+        log(String.format("--- Turn for %s ---", currentPlayer.getName()));
+        log("Top Card: " + status.describeTopCard());
+        if (pendingDraws > 0) {
+            log("!! PENDING DRAW STACK: " + pendingDraws + " !!");
+        }
+        log("Current Player: " + currentPlayer.getName());
+
+        // 2. Update Top Card Image
+        String topCardImagePath;
+        String cardValue = topCard.getValue().toLowerCase();
+        String cardColor = topCard.getColor().toLowerCase();
+        if (topCard.isWild()) {
+            topCardImagePath = "images/power_cards/" + cardValue + ".png";
+        } else {
+            if (cardValue.equals("skip") || cardValue.equals("reverse") || cardValue.equals("draw2")) {
+                topCardImagePath = "images/power_cards/" + cardColor + "_" + cardValue + ".png";
+            } else {
+                topCardImagePath = "images/" + cardColor + "/" + cardValue + ".png";
             }
+        }
+        topCardLabel.setIcon(getScaledIcon(topCardImagePath, 100, 150));
+        topCardLabel.setText(null);
+        
+        // --- 3. UPDATE TURN STATUS (ANIMATION LOGIC) ---
+        if (currentPlayerId == humanPlayerId) {
+            isMyTurn = true;
+            setHandEnabled(true);
+            drawButton.setEnabled(true);
+            statusLabel.setText("Your Turn!" + (pendingDraws > 0 ? " (Must draw " + pendingDraws + " or stack)" : ""));
             
-            // 4. Update Opponent Card Counts (FIXED)
-            Map<Integer, Integer> counts = gameController.getHandCounts(conn, gameId);
-            for (Map.Entry<Integer, JLabel> entry : opponentLabels.entrySet()) {
-                int count = counts.getOrDefault(entry.getKey(), 0); 
-                entry.getValue().setText(activePlayers.stream()
-                        .filter(p -> p.getPlayerId() == entry.getKey()) 
-                        .findFirst().get().getName() + ": " + count + " Cards");
+            // START THE PULSING ANIMATION
+            if (!turnIndicatorTimer.isRunning()) {
+                turnIndicatorTimer.start();
             }
+        } else {
+            isMyTurn = false;
+            setHandEnabled(false);
+            drawButton.setEnabled(false);
+            statusLabel.setText("AI (Player " + currentPlayerId + ") is thinking...");
             
-            // --- 5. UPDATE TURN STATUS (ANIMATION LOGIC) ---
-            if (currentPlayerId == humanPlayerId) {
-                isMyTurn = true;
-                setHandEnabled(true);
-                drawButton.setEnabled(true);
-                statusLabel.setText("Your Turn!" + (pendingDraws > 0 ? " (Must draw " + pendingDraws + " or stack)" : ""));
-                
-                // START THE PULSING ANIMATION
-                if (!turnIndicatorTimer.isRunning()) {
-                    turnIndicatorTimer.start();
-                }
-            } else {
-                isMyTurn = false;
-                setHandEnabled(false);
-                drawButton.setEnabled(false);
-                statusLabel.setText("AI (Player " + currentPlayerId + ") is thinking...");
-                
-                // STOP THE PULSING ANIMATION
-                if (turnIndicatorTimer.isRunning()) {
-                    turnIndicatorTimer.stop();
-                }
-                playerHandScrollPane.setBorder(handBorderDefault); // Reset to normal
-                
-                handleAITurn(currentPlayerId, pendingDraws);
+            // STOP THE PULSING ANIMATION
+            if (turnIndicatorTimer.isRunning()) {
+                turnIndicatorTimer.stop();
             }
+            playerHandScrollPane.setBorder(handBorderDefault); // Reset to normal
             
-            playerHandPanel.revalidate();
-            playerHandPanel.repaint();
+            handleAITurn(currentPlayerId, pendingDraws);
+        }
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(this, "Error refreshing game: " + e.getMessage(), "DB Error", JOptionPane.ERROR_MESSAGE);
+    /**
+     * Rebuilds the human player's hand.
+     */
+    private void refreshHand() throws SQLException {
+        playerHandPanel.removeAll(); 
+        List<Card> humanHand = gameStore.getPlayerHand(gameId, humanPlayerId);
+        for (Card card : humanHand) {
+            playerHandPanel.add(createCardButton(card)); // Will now create a PopUpCardButton
+        }
+        setHandEnabled(isMyTurn);
+        playerHandPanel.revalidate();
+        playerHandPanel.repaint();
+    }
+
+    /**
+     * Updates the opponents' card counts.
+     */
+    private void refreshOpponentCounts() throws SQLException {
+        Map<Integer, Integer> counts = gameStore.getHandCounts(gameId);
+        for (Map.Entry<Integer, JLabel> entry : opponentLabels.entrySet()) {
+            int count = counts.getOrDefault(entry.getKey(), 0); 
+            entry.getValue().setText(activePlayers.stream()
+                    .filter(p -> p.getPlayerId() == entry.getKey()) 
+                    .findFirst().get().getName() + ": " + count + " Cards");
         }
     }
     
@@ -322,11 +385,11 @@ public class GamePanel extends AnimatedPanel { // Extends AnimatedPanel for fadi
     }
 
     private void handleCardPlayAction(Card cardToPlay) {
+        boolean playerWon = false;
         try {
-            GameStatus status = gameController.getGameStatus(conn, gameId);
-            int pendingDraws = status.getPendingDrawStack();
+            GameStatus status = gameStore.getGameStatus(gameId);
 
-            if (!gameController.validateMove(cardToPlay, status.getTopCard(), pendingDraws)) {
+            if (!UnoEngine.isValidMove(cardToPlay, status)) {
                 JOptionPane.showMessageDialog(this, "Invalid Move! You cannot play this card.", "Rule Violation", JOptionPane.WARNING_MESSAGE);
                 return;
             }
@@ -345,50 +408,63 @@ public class GamePanel extends AnimatedPanel { // Extends AnimatedPanel for fadi
             log("You played: " + cardToPlay.toString());
             if(cardToPlay.isWild()) log("You changed the color to " + nextColor.toUpperCase());
 
-            gameController.processMove(conn, gameId, humanPlayerId, cardToPlay, "played", nextColor);
+            gameStore.processMove(gameId, humanPlayerId, cardToPlay, "played", nextColor);
             
             // --- ADDED WIN LOGIC ---
-            if (gameController.getPlayerHand(conn, gameId, humanPlayerId).isEmpty()) {
+            if (gameStore.getPlayerHand(gameId, humanPlayerId).isEmpty()) {
                 log("!!! YOU WIN THE GAME !!!");
-                gameController.endGame(conn, gameId, humanPlayerId); // <-- Notify DB
-                JOptionPane.showMessageDialog(this, "Congratulations, YOU WIN!");
-                appManager.showMenu();
-                return; 
+                gameOver = true; // Before endGame, so the queued move notification doesn't start the next turn
+                gameStore.endGame(gameId, humanPlayerId); // <-- Notify DB
+                playerWon = true;
             }
-
-            refreshGameState(); 
-
+        } catch (GameConflictException ex) {
+            // Someone else moved first; nothing was written, so just show the current table
+            log("!! " + ex.getMessage() + " Refreshing the table.");
+            refreshGameState();
+            return;
         } catch (SQLException ex) {
             JOptionPane.showMessageDialog(this, "Error playing card: " + ex.getMessage(), "DB Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        if (playerWon) {
+            JOptionPane.showMessageDialog(this, "Congratulations, YOU WIN!");
+            appManager.showMenu();
         }
+        // Otherwise the move's change notification updates the screen
     }
 
     private void handleDrawAction() {
         if (!isMyTurn) return;
         
         try {
-            GameStatus status = gameController.getGameStatus(conn, gameId);
+            GameStatus status = gameStore.getGameStatus(gameId);
             int pendingDraws = status.getPendingDrawStack();
             
             String action = "drawn_and_passed";
             Card cardForLog; 
 
             if (pendingDraws == 0) {
-                cardForLog = gameController.drawCard(conn, gameId, humanPlayerId);
+                cardForLog = gameStore.drawCard(gameId, humanPlayerId);
                 log("You drew: " + cardForLog.toString());
                 JOptionPane.showMessageDialog(this, "You drew: " + cardForLog.toString());
             } else {
                 log("You must draw the stack of " + pendingDraws + " cards!");
                 JOptionPane.showMessageDialog(this, "You must draw the stack of " + pendingDraws + " cards!");
-                cardForLog = gameController.getPlayerHand(conn, gameId, humanPlayerId).get(0); 
+                cardForLog = gameStore.getPlayerHand(gameId, humanPlayerId).get(0); 
             }
             
-            gameController.processMove(conn, gameId, humanPlayerId, cardForLog, action, null);
-            refreshGameState();
+            gameStore.processMove(gameId, humanPlayerId, cardForLog, action, null);
 
+        } catch (GameConflictException ex) {
+            // Someone else moved first; nothing was written, so just show the current table
+            log("!! " + ex.getMessage() + " Refreshing the table.");
+            refreshGameState();
+            return;
         } catch (SQLException ex) {
             JOptionPane.showMessageDialog(this, "Error drawing card: " + ex.getMessage(), "DB Error", JOptionPane.ERROR_MESSAGE);
         }
+        // On success the change notifications update the screen
     }
     
     private void handleAITurn(int aiPlayerId, int pendingDraws) {
@@ -399,46 +475,54 @@ public class GamePanel extends AnimatedPanel { // Extends AnimatedPanel for fadi
         SwingWorker<String, Void> worker = new SwingWorker<String, Void>() {
             @Override
             protected String doInBackground() throws Exception {
-                Thread.sleep(1500); 
+                // The look-ahead AI's thinking time counts toward the usual pause
+                Thread.sleep(lookAheadAI == null ? 1500 : Math.max(0, 1500 - lookAheadAI.getBudgetMillis()));
 
-                List<Card> aiHand = gameController.getPlayerHand(conn, gameId, aiPlayerId);
-                GameStatus status = gameController.getGameStatus(conn, gameId);
-                
-                List<Card> validMoves = aiHand.stream()
-                    .filter(card -> gameController.validateMove(card, status.getTopCard(), pendingDraws))
-                    .collect(Collectors.toList());
-                
+                // Store calls made here lease their own connection on this worker thread (never shared with the EDT)
+                List<Card> aiHand = gameStore.getPlayerHand(gameId, aiPlayerId);
+                GameStatus status = gameStore.getGameStatus(gameId);
+            
+                AIDecision decision = lookAheadAI == null
+                        ? UnoEngine.getAIDecision(HandBits.of(aiHand), status)
+                        : lookAheadAI.choose(activePlayers, aiPlayerId, aiHand, gameStore.getHandCounts(gameId), status, new SplittableRandom());
+            
                 String logMessage; 
 
-                if (validMoves.isEmpty()) {
+                if (decision.card == null) {
                     String action = "drawn_and_passed";
                     Card cardForLog;
                     if (pendingDraws == 0) {
-                        cardForLog = gameController.drawCard(conn, gameId, aiPlayerId);
+                        cardForLog = gameStore.drawCard(gameId, aiPlayerId);
                         logMessage = aiName + " draws 1 card and passes.";
                     } else {
                         logMessage = aiName + " must draw the stack of " + pendingDraws + " cards!";
                         cardForLog = aiHand.get(0); // Dummy card
                     }
-                    gameController.processMove(conn, gameId, aiPlayerId, cardForLog, action, null);
+                    gameStore.processMove(gameId, aiPlayerId, cardForLog, action, null);
 
                 } else {
-                    AIDecision decision = gameController.getAIDecision(validMoves, aiHand);
                     Card cardToPlay = decision.card;
                     String nextColor = decision.nextColor;
-                    
+                
                     logMessage = aiName + " plays: " + cardToPlay.toString();
                     if (cardToPlay.isWild()) {
                         logMessage += " (Color changed to " + nextColor.toUpperCase() + ")";
                     }
-                    
-                    gameController.processMove(conn, gameId, aiPlayerId, cardToPlay, "played", nextColor);
-                    
+                
+                    // Playing the last card wins: mark the game over first so the move's notification doesn't start another turn
+                    gameOver = aiHand.size() == 1;
+                    try {
+                        gameStore.processMove(gameId, aiPlayerId, cardToPlay, "played", nextColor);
+                    } catch (SQLException e) {
+                        gameOver = false;
+                        throw e;
+                    }
+                
                     // --- ADDED WIN LOGIC ---
-                    if (gameController.getPlayerHand(conn, gameId, aiPlayerId).isEmpty()) {
+                    if (gameStore.getPlayerHand(gameId, aiPlayerId).isEmpty()) {
                         log("!!! " + aiName + " WINS THE GAME !!!");
-                        gameController.endGame(conn, gameId, aiPlayerId); // <-- Notify DB
-                        
+                        gameStore.endGame(gameId, aiPlayerId); // <-- Notify DB
+                    
                         SwingUtilities.invokeLater(() -> {
                             JOptionPane.showMessageDialog(GamePanel.this, aiName + " has won!", "Game Over", JOptionPane.INFORMATION_MESSAGE);
                             appManager.showMenu();
@@ -455,11 +539,12 @@ public class GamePanel extends AnimatedPanel { // Extends AnimatedPanel for fadi
                     if (logMessage != null) {
                         log(logMessage);
                     }
+                    // The AI's move arrives as a change notification; nothing to re-read here
                 } catch (Exception e) {
                     e.printStackTrace();
                     log("!! AI Error: " + e.getMessage());
+                    refreshGameState();
                 }
-                refreshGameState(); 
             }
         };
         
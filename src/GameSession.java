@@ -0,0 +1,54 @@
+// --- File: src/GameSession.java ---
+
+/**
+ * GameSession: In-memory per-game state that never needs to be re-read from the database
+ * while the game runs: the seating ring (turn order) and the current direction.
+ * Moves are numbered from Game.version, not from anything kept here, so a session
+ * rebuilt after another client moved cannot reuse a turn_number.
+ *
+ * Built once when the game starts; the direction is flipped after a committed Reverse.
+ */
+public class GameSession {
+
+    private final int gameId;
+    private final int[] seats;          // player_ids in turn order
+    private volatile boolean clockwise;
+
+    public GameSession(int gameId, int[] seats, boolean clockwise) {
+        if (seats.length == 0) throw new IllegalArgumentException("A game needs at least one seat.");
+        this.gameId = gameId;
+        this.seats = seats.clone();
+        this.clockwise = clockwise;
+    }
+
+    // --- Getters ---
+    public int getGameId() { return gameId; }
+    public int getSeatCount() { return seats.length; }
+    public boolean isClockwise() { return clockwise; }
+
+    public void setClockwise(boolean clockwise) {
+        this.clockwise = clockwise;
+    }
+
+    /**
+     * Returns the seat index of a player, or -1 if the player is not seated in this game.
+     */
+    public int seatOf(int playerId) {
+        for (int i = 0; i < seats.length; i++) {
+            if (seats[i] == playerId) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Calculates the next player, moving 1 + skipCount seats in the given direction.
+     */
+    public int nextPlayerId(int currentPlayerId, int skipCount, boolean clockwise) {
+        int currentIndex = seatOf(currentPlayerId);
+        if (currentIndex < 0) throw new IllegalArgumentException("Player " + currentPlayerId + " is not seated in game " + gameId);
+
+        int steps = 1 + skipCount; // 1 for normal turn, +1 for each skip
+        int nextIndex = Math.floorMod(currentIndex + (clockwise ? steps : -steps), seats.length);
+        return seats[nextIndex];
+    }
+}
@@ -0,0 +1,198 @@
+// --- File: src/GameState.java ---
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * GameState: The complete in-memory state of one UNO game, as used by UnoEngine.
+ *
+ * Everything the database keeps across the Game, Deck and Hands tables lives here:
+ * draw pile order, discard pile, each seat's hand, turn, direction, active color and
+ * draw stack. The shuffle RNG is a plain 64-bit state so a game is fully reproducible
+ * from its seed.
+ */
+public class GameState {
+
+    final int gameId;
+    final int[] seats;               // player_ids in turn order
+    final HandBits[] hands;          // card_ids held, indexed by seat
+
+    int[] drawPile;                  // top of the pile is drawPile[drawSize - 1]
+    int drawSize;
+    int[] discardPile;               // top card is discardPile[discardSize - 1]
+    int discardSize;
+
+    int currentSeat;
+    boolean clockwise = true;
+    CardColor activeColor;
+    int pendingDrawStack;
+    int turnNumber;                  // number of moves applied so far
+    boolean finished;
+    int winnerId = -1;
+    long rngState;
+
+    public GameState(int gameId, int[] seats, int deckSize, long seed) {
+        this.gameId = gameId;
+        this.seats = seats.clone();
+        this.hands = new HandBits[seats.length];
+        for (int i = 0; i < seats.length; i++) {
+            hands[i] = new HandBits();
+        }
+        this.drawPile = new int[deckSize];
+        this.discardPile = new int[deckSize];
+        this.rngState = seed;
+    }
+
+    // --- Getters ---
+    public int getGameId() { return gameId; }
+    public int getSeatCount() { return seats.length; }
+    public int getPlayerIdAt(int seat) { return seats[seat]; }
+    public int getCurrentSeat() { return currentSeat; }
+    public int getCurrentPlayerId() { return seats[currentSeat]; }
+    public boolean isClockwise() { return clockwise; }
+    public String getActiveColor() { return activeColor != null ? activeColor.dbName() : null; }
+    public CardColor getActiveCardColor() { return activeColor; }
+    public int getPendingDrawStack() { return pendingDrawStack; }
+    public int getTurnNumber() { return turnNumber; }
+    public boolean isFinished() { return finished; }
+    public int getWinnerId() { return winnerId; }
+    public int getDrawPileSize() { return drawSize; }
+    public int getDiscardPileSize() { return discardSize; }
+
+    public int getTopCardId() {
+        return discardPile[discardSize - 1];
+    }
+
+    public Card getTopCard() {
+        return CardCatalog.get(getTopCardId());
+    }
+
+    /**
+     * Returns the seat index of a player, or -1 if the player is not in this game.
+     */
+    public int seatOf(int playerId) {
+        for (int i = 0; i < seats.length; i++) {
+            if (seats[i] == playerId) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the card_ids in a player's hand (the live set; callers must not modify it).
+     */
+    public HandBits handOf(int playerId) {
+        int seat = seatOf(playerId);
+        if (seat < 0) throw new IllegalArgumentException("Player " + playerId + " is not seated in game " + gameId);
+        return hands[seat];
+    }
+
+    public HandBits handAt(int seat) {
+        return hands[seat];
+    }
+
+    /**
+     * Builds the same turn snapshot that the JDBC store returns (the move count serves as the version).
+     */
+    public GameStatus toStatus() {
+        return new GameStatus(getCurrentPlayerId(), Direction.of(clockwise),
+                              getTopCard(), activeColor, pendingDrawStack, turnNumber);
+    }
+
+    /**
+     * Overwrites this state with another game's (same seat count and deck size), reusing the arrays.
+     * Lets simulations restart from a position many times without allocating.
+     */
+    void copyFrom(GameState other) {
+        if (other.seats.length != seats.length || other.drawPile.length != drawPile.length) {
+            throw new IllegalArgumentException("Can only copy a game with the same seat count and deck size.");
+        }
+        System.arraycopy(other.seats, 0, seats, 0, seats.length);
+        for (int seat = 0; seat < seats.length; seat++) hands[seat].copyFrom(other.hands[seat]);
+        System.arraycopy(other.drawPile, 0, drawPile, 0, other.drawSize);
+        drawSize = other.drawSize;
+        System.arraycopy(other.discardPile, 0, discardPile, 0, other.discardSize);
+        discardSize = other.discardSize;
+        currentSeat = other.currentSeat;
+        clockwise = other.clockwise;
+        activeColor = other.activeColor;
+        pendingDrawStack = other.pendingDrawStack;
+        turnNumber = other.turnNumber;
+        finished = other.finished;
+        winnerId = other.winnerId;
+        rngState = other.rngState;
+    }
+
+    // --- Binary snapshot format (used by JournalGameStore) ---
+
+    /**
+     * Writes the complete state, including the RNG, so a restored game continues identically.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(gameId);
+        out.writeByte(seats.length);
+        for (int seat = 0; seat < seats.length; seat++) {
+            out.writeInt(seats[seat]);
+            HandBits hand = hands[seat];
+            out.writeShort(hand.size());
+            for (int cardId = hand.first(); cardId >= 0; cardId = hand.next(cardId)) out.writeShort(cardId);
+        }
+        out.writeShort(drawPile.length);
+        out.writeShort(drawSize);
+        for (int i = 0; i < drawSize; i++) out.writeShort(drawPile[i]);
+        out.writeShort(discardSize);
+        for (int i = 0; i < discardSize; i++) out.writeShort(discardPile[i]);
+        out.writeByte(currentSeat);
+        out.writeBoolean(clockwise);
+        out.writeUTF(activeColor == null ? "" : activeColor.dbName());
+        out.writeInt(pendingDrawStack);
+        out.writeInt(turnNumber);
+        out.writeBoolean(finished);
+        out.writeInt(winnerId);
+        out.writeLong(rngState);
+    }
+
+    public static GameState readFrom(DataInput in) throws IOException {
+        int gameId = in.readInt();
+        int seatCount = in.readUnsignedByte();
+        int[] seats = new int[seatCount];
+        HandBits[] hands = new HandBits[seatCount];
+        for (int seat = 0; seat < seatCount; seat++) {
+            seats[seat] = in.readInt();
+            int handSize = in.readUnsignedShort();
+            hands[seat] = new HandBits();
+            for (int i = 0; i < handSize; i++) hands[seat].add(in.readUnsignedShort());
+        }
+        GameState state = new GameState(gameId, seats, in.readUnsignedShort(), 0L);
+        for (int seat = 0; seat < seatCount; seat++) {
+            state.hands[seat].copyFrom(hands[seat]);
+        }
+        state.drawSize = in.readUnsignedShort();
+        for (int i = 0; i < state.drawSize; i++) state.drawPile[i] = in.readUnsignedShort();
+        state.discardSize = in.readUnsignedShort();
+        for (int i = 0; i < state.discardSize; i++) state.discardPile[i] = in.readUnsignedShort();
+        state.currentSeat = in.readUnsignedByte();
+        state.clockwise = in.readBoolean();
+        String activeColor = in.readUTF();
+        state.activeColor = activeColor.isEmpty() ? null : CardColor.fromName(activeColor);
+        state.pendingDrawStack = in.readInt();
+        state.turnNumber = in.readInt();
+        state.finished = in.readBoolean();
+        state.winnerId = in.readInt();
+        state.rngState = in.readLong();
+        return state;
+    }
+
+    // --- Seeded RNG (SplitMix64) ---
+
+    long nextLong() {
+        long z = (rngState += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    int nextInt(int bound) {
+        return (int) Long.remainderUnsigned(nextLong(), bound);
+    }
+}
@@ -3,20 +3,45 @@
  */
 public class GameStatus {
     private int currentTurnPlayerId;
-    private String direction;
+    private Direction direction;
     private Card topCard;
+    private CardColor activeColor; // Color to match; differs from the top card's color only for Wilds
     private int pendingDrawStack; // <-- ADDED
+    private int version;          // Game.version this state was read at (bumped by every committed move)
 
-    public GameStatus(int currentTurnPlayerId, String direction, Card topCard, int pendingDrawStack) {
+    public GameStatus(int currentTurnPlayerId, Direction direction, Card topCard, String activeColor, int pendingDrawStack) {
+        this(currentTurnPlayerId, direction, topCard, activeColor, pendingDrawStack, 0);
+    }
+
+    public GameStatus(int currentTurnPlayerId, Direction direction, Card topCard, String activeColor, int pendingDrawStack, int version) {
+        this(currentTurnPlayerId, direction, topCard, CardColor.fromName(activeColor), pendingDrawStack, version);
+    }
+
+    public GameStatus(int currentTurnPlayerId, Direction direction, Card topCard, CardColor activeColor, int pendingDrawStack, int version) {
         this.currentTurnPlayerId = currentTurnPlayerId;
         this.direction = direction;
         this.topCard = topCard;
+        this.activeColor = activeColor != null ? activeColor : (topCard != null ? topCard.getCardColor() : null);
         this.pendingDrawStack = pendingDrawStack; // <-- ADDED
+        this.version = version;
     }
 
     // --- Getters ---
     public int getCurrentTurnPlayerId() { return currentTurnPlayerId; }
-    public String getDirection() { return direction; }
+    public Direction getDirection() { return direction; }
     public Card getTopCard() { return topCard; }
+    public String getActiveColor() { return activeColor != null ? activeColor.dbName() : null; }
+    public CardColor getActiveCardColor() { return activeColor; }
     public int getPendingDrawStack() { return pendingDrawStack; } // <-- ADDED
-}
\ No newline at end of file
+    public int getVersion() { return version; }
+
+    /**
+     * Describes the top card, including the color chosen for a Wild.
+     */
+    public String describeTopCard() {
+        if (topCard.isWild()) {
+            return String.format("[%s] (Set to %s)", topCard.getValue().toUpperCase(), getActiveColor().toUpperCase());
+        }
+        return topCard.toString();
+    }
+}
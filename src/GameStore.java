@@ -0,0 +1,75 @@
+// --- File: src/GameStore.java ---
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GameStore: Where a game's authoritative state lives.
+ *
+ * The UI talks only to this interface. JdbcGameStore keeps MySQL as the single source
+ * of truth (one pooled connection per call); InMemoryGameStore runs the same rules in
+ * UnoEngine at memory speed with no database at all.
+ *
+ * Methods declare SQLException so the JDBC store can surface database errors unchanged;
+ * the in-memory store reports rule violations with IllegalStateException/IllegalArgumentException.
+ */
+public interface GameStore {
+
+    /**
+     * Sets up a fresh session with 1 Human and N AI bots. Other games in the store are not affected.
+     */
+    void setupSessionPlayers(int aiOpponentCount) throws SQLException;
+
+    /**
+     * Returns the players of the current session, in seating order.
+     */
+    List<Player> listAllPlayers() throws SQLException;
+
+    /**
+     * Returns the players seated in one game, in seating order.
+     */
+    List<Player> listGamePlayers(int gameId) throws SQLException;
+
+    /**
+     * Starts a new game for the given players and returns its id.
+     */
+    int startGame(List<Player> players) throws SQLException;
+
+    GameStatus getGameStatus(int gameId) throws SQLException;
+
+    List<Card> getPlayerHand(int gameId, int playerId) throws SQLException;
+
+    Map<Integer, Integer> getHandCounts(int gameId) throws SQLException;
+
+    /**
+     * Draws one card into a player's hand.
+     */
+    Card drawCard(int gameId, int playerId) throws SQLException;
+
+    /**
+     * Draws count cards into a player's hand in one operation and returns them in draw order.
+     */
+    List<Card> drawCards(int gameId, int playerId, int count) throws SQLException;
+
+    /**
+     * Applies a "played" or "drawn_and_passed" move.
+     */
+    boolean processMove(int gameId, int playerId, Card cardToPlay, String action, String nextColor) throws SQLException;
+
+    void endGame(int gameId, int winnerId) throws SQLException;
+
+    GameStatistics getGameStatistics() throws SQLException;
+
+    /**
+     * Registers a listener that is told about every committed change (moves, draws, game end).
+     */
+    void addGameChangeListener(GameChangeListener listener);
+
+    void removeGameChangeListener(GameChangeListener listener);
+
+    /**
+     * Releases background resources (e.g. flushes queued writes). Called on application exit.
+     */
+    void shutdown();
+}
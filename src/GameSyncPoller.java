@@ -0,0 +1,82 @@
+// --- File: src/GameSyncPoller.java ---
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameSyncPoller: Keeps one game in step with other clients sharing the same MySQL database.
+ *
+ * Polls GameController.syncGame on a background thread, remembering the last move_id and version
+ * it has seen, so each poll reads only what is new. The interval adapts: it drops to the minimum
+ * as soon as something changes and doubles on every quiet poll up to the maximum
+ * (-Duno.sync.minMillis, default 200; -Duno.sync.maxMillis, default 3000).
+ * Changes made by other clients reach the controller's GameChangeListeners through syncGame.
+ */
+public class GameSyncPoller {
+
+    private final GameController gameController;
+    private final int gameId;
+    private final long minDelayMillis;
+    private final long maxDelayMillis;
+    private final ScheduledExecutorService scheduler;
+
+    // Only touched by the poller thread
+    private long lastMoveId = 0;
+    private int knownVersion = -1;
+    private long delayMillis;
+
+    private volatile boolean stopped = false;
+
+    public GameSyncPoller(GameController gameController, int gameId) {
+        this(gameController, gameId, Long.getLong("uno.sync.minMillis", 200L), Long.getLong("uno.sync.maxMillis", 3000L));
+    }
+
+    public GameSyncPoller(GameController gameController, int gameId, long minDelayMillis, long maxDelayMillis) {
+        if (minDelayMillis < 1 || maxDelayMillis < minDelayMillis) throw new IllegalArgumentException("Invalid poll interval range.");
+        this.gameController = gameController;
+        this.gameId = gameId;
+        this.minDelayMillis = minDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.delayMillis = minDelayMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "uno-sync-" + gameId);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public int getGameId() { return gameId; }
+
+    public void start() {
+        scheduler.schedule(this::poll, minDelayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        stopped = true;
+        scheduler.shutdownNow();
+    }
+
+    private void poll() {
+        if (stopped) return;
+        try (Connection conn = DBConnector.leaseConnection()) {
+            GameDelta delta = gameController.syncGame(conn, gameId, lastMoveId, knownVersion);
+            lastMoveId = delta.lastMoveId;
+            if (delta.status != null) knownVersion = delta.status.getVersion();
+
+            if (delta.finished) {
+                stop();
+                return;
+            }
+            delayMillis = delta.isEmpty() ? Math.min(delayMillis * 2, maxDelayMillis) : minDelayMillis;
+        } catch (SQLException e) {
+            System.err.println("Sync of game " + gameId + " failed: " + e.getMessage());
+            delayMillis = maxDelayMillis;
+        }
+        if (!stopped) {
+            scheduler.schedule(this::poll, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+}
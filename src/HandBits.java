@@ -0,0 +1,192 @@
+// --- File: src/HandBits.java ---
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HandBits: A hand of cards stored as a 128-bit set of card_ids (two longs).
+ *
+ * Every physical card has its own card_id (the two red 5s are different ids), so a hand is a set.
+ * add/remove/contains are single bit operations, size() is a popcount, and nothing is allocated.
+ * Masks from UnoEngine (playable cards, cards of a color) select subsets the same way.
+ *
+ * Iterate with: for (int id = hand.first(); id >= 0; id = hand.next(id)) { ... }
+ */
+public final class HandBits {
+
+    public static final int CAPACITY = 128; // card_ids 0..127; the standard deck uses 1..108
+
+    private long low;  // card_ids 0..63
+    private long high; // card_ids 64..127
+
+    public HandBits() { }
+
+    public HandBits(HandBits other) {
+        this.low = other.low;
+        this.high = other.high;
+    }
+
+    /**
+     * Builds a hand from Card objects (e.g. a hand read from the Hands table).
+     */
+    public static HandBits of(List<Card> cards) {
+        HandBits hand = new HandBits();
+        for (Card card : cards) {
+            hand.add(card.getCardId());
+        }
+        return hand;
+    }
+
+    // --- Single cards ---
+
+    /**
+     * Adds a card. Returns false if it was already in the hand.
+     */
+    public boolean add(int cardId) {
+        checkId(cardId);
+        long bit = 1L << cardId;
+        if (cardId < 64) {
+            boolean added = (low & bit) == 0;
+            low |= bit;
+            return added;
+        }
+        boolean added = (high & bit) == 0;
+        high |= bit;
+        return added;
+    }
+
+    /**
+     * Removes a card. Returns false if the hand did not hold it.
+     */
+    public boolean remove(int cardId) {
+        if (cardId < 0 || cardId >= CAPACITY) return false;
+        long bit = 1L << cardId;
+        if (cardId < 64) {
+            boolean removed = (low & bit) != 0;
+            low &= ~bit;
+            return removed;
+        }
+        boolean removed = (high & bit) != 0;
+        high &= ~bit;
+        return removed;
+    }
+
+    public boolean contains(int cardId) {
+        if (cardId < 0 || cardId >= CAPACITY) return false;
+        return ((cardId < 64 ? low : high) & (1L << cardId)) != 0;
+    }
+
+    public int size() {
+        return Long.bitCount(low) + Long.bitCount(high);
+    }
+
+    public boolean isEmpty() {
+        return (low | high) == 0;
+    }
+
+    public void clear() {
+        low = 0;
+        high = 0;
+    }
+
+    public void copyFrom(HandBits other) {
+        this.low = other.low;
+        this.high = other.high;
+    }
+
+    // --- Iteration (ascending card_id) ---
+
+    /**
+     * Returns the lowest card_id in the hand, or -1 if it is empty.
+     */
+    public int first() {
+        if (low != 0) return Long.numberOfTrailingZeros(low);
+        if (high != 0) return 64 + Long.numberOfTrailingZeros(high);
+        return -1;
+    }
+
+    /**
+     * Returns the lowest card_id greater than cardId, or -1 if there is none.
+     */
+    public int next(int cardId) {
+        int from = cardId + 1;
+        if (from < 64) {
+            long rest = low & (-1L << from);
+            if (rest != 0) return Long.numberOfTrailingZeros(rest);
+            from = 64;
+        }
+        if (from < CAPACITY) {
+            long rest = high & (-1L << (from - 64));
+            if (rest != 0) return 64 + Long.numberOfTrailingZeros(rest);
+        }
+        return -1;
+    }
+
+    // --- Masks ---
+
+    public long low() { return low; }
+    public long high() { return high; }
+
+    /**
+     * Counts the cards in the hand that are also in the mask.
+     */
+    public int countIn(long maskLow, long maskHigh) {
+        return Long.bitCount(low & maskLow) + Long.bitCount(high & maskHigh);
+    }
+
+    public boolean intersects(long maskLow, long maskHigh) {
+        return ((low & maskLow) | (high & maskHigh)) != 0;
+    }
+
+    /**
+     * Keeps only the cards that are also in the mask.
+     */
+    public void retain(long maskLow, long maskHigh) {
+        low &= maskLow;
+        high &= maskHigh;
+    }
+
+    // --- Conversions ---
+
+    public List<Integer> toList() {
+        List<Integer> ids = new ArrayList<>(size());
+        for (int id = first(); id >= 0; id = next(id)) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the hand's cards from the CardCatalog, in card_id order.
+     */
+    public List<Card> toCards() {
+        List<Card> cards = new ArrayList<>(size());
+        for (int id = first(); id >= 0; id = next(id)) {
+            cards.add(CardCatalog.get(id));
+        }
+        return cards;
+    }
+
+    private static void checkId(int cardId) {
+        if (cardId < 0 || cardId >= CAPACITY) {
+            throw new IllegalArgumentException("Card id " + cardId + " does not fit in a hand bitset (0.." + (CAPACITY - 1) + ").");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof HandBits)) return false;
+        HandBits other = (HandBits) o;
+        return low == other.low && high == other.high;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(low) * 31 + Long.hashCode(high);
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+}
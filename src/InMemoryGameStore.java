@@ -0,0 +1,235 @@
+// --- File: src/InMemoryGameStore.java ---
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * InMemoryGameStore: A GameStore that keeps every game in memory and applies moves through UnoEngine.
+ * Used for local play without MySQL and for simulations. Each game is guarded by its own lock.
+ */
+public class InMemoryGameStore implements GameStore {
+
+    private static final Comparator<Card> HAND_ORDER = Comparator.comparing(Card::getColor).thenComparing(Card::getValue);
+
+    // Package-private so persistence layers built on this store (JournalGameStore) can snapshot and restore it
+    final Map<Integer, GameState> games = new ConcurrentHashMap<>();
+    final AtomicInteger nextGameId = new AtomicInteger(1);
+    private final SecureRandom seeds = new SecureRandom();
+    volatile List<Player> sessionPlayers = Collections.emptyList();
+
+    // Running totals for the Stats screen
+    final GameStatistics stats = new GameStatistics();
+
+    private final GameChangeNotifier changeNotifier = new GameChangeNotifier();
+
+    public InMemoryGameStore() {
+        CardCatalog.loadStandardDeck();
+    }
+
+    @Override
+    public void setupSessionPlayers(int aiOpponentCount) {
+        sessionPlayers = sessionPlayersFor(aiOpponentCount);
+        System.out.println("Session setup with 1 Human and " + aiOpponentCount + " AI.");
+    }
+
+    /**
+     * The players of a new session: the human is player 1 and the bots are 2..N+1.
+     */
+    static List<Player> sessionPlayersFor(int aiOpponentCount) {
+        List<Player> players = new ArrayList<>();
+        players.add(new Player(1, "You", "human", 0));
+        for (int i = 1; i <= aiOpponentCount; i++) {
+            players.add(new Player(i + 1, "AI Bot " + i, "AI", 0));
+        }
+        return Collections.unmodifiableList(players);
+    }
+
+    @Override
+    public List<Player> listAllPlayers() {
+        return sessionPlayers;
+    }
+
+    @Override
+    public List<Player> listGamePlayers(int gameId) {
+        GameState state = getState(gameId);
+        List<Player> players = new ArrayList<>(state.getSeatCount());
+        for (int seat = 0; seat < state.getSeatCount(); seat++) {
+            int playerId = state.getPlayerIdAt(seat);
+            players.add(sessionPlayers.stream()
+                    .filter(p -> p.getPlayerId() == playerId)
+                    .findFirst()
+                    .orElse(new Player(playerId, "Player " + playerId, "AI", 0)));
+        }
+        return players;
+    }
+
+    @Override
+    public int startGame(List<Player> players) {
+        return startGame(players, seeds.nextLong());
+    }
+
+    /**
+     * Starts a game with a fixed shuffle seed, so the whole game can be replayed.
+     */
+    public int startGame(List<Player> players, long seed) {
+        int gameId = nextGameId.getAndIncrement();
+        int[] seats = players.stream().mapToInt(Player::getPlayerId).toArray();
+        createGame(gameId, seats, seed);
+        return gameId;
+    }
+
+    /**
+     * Deals a game under a known id (also used when replaying a journal).
+     */
+    void createGame(int gameId, int[] seats, long seed) {
+        GameState state = UnoEngine.newGame(gameId, seats, seed);
+        games.put(gameId, state);
+        nextGameId.accumulateAndGet(gameId + 1, Math::max);
+        changeNotifier.fire(gameId, true, state.toStatus(), Arrays.stream(seats).boxed().collect(Collectors.toSet()), false, -1);
+    }
+
+    /**
+     * Returns the live state of a game (for simulations and persistence layers built on this store).
+     */
+    public GameState getState(int gameId) {
+        GameState state = games.get(gameId);
+        if (state == null) throw new IllegalArgumentException("No such game: " + gameId);
+        return state;
+    }
+
+    @Override
+    public GameStatus getGameStatus(int gameId) {
+        GameState state = getState(gameId);
+        synchronized (state) {
+            return state.toStatus();
+        }
+    }
+
+    @Override
+    public List<Card> getPlayerHand(int gameId, int playerId) {
+        GameState state = getState(gameId);
+        List<Card> hand = new ArrayList<>();
+        synchronized (state) {
+            HandBits held = state.handOf(playerId);
+            for (int cardId = held.first(); cardId >= 0; cardId = held.next(cardId)) {
+                hand.add(CardCatalog.get(cardId));
+            }
+        }
+        hand.sort(HAND_ORDER);
+        return hand;
+    }
+
+    @Override
+    public Map<Integer, Integer> getHandCounts(int gameId) {
+        GameState state = getState(gameId);
+        Map<Integer, Integer> handCounts = new HashMap<>();
+        synchronized (state) {
+            for (int seat = 0; seat < state.getSeatCount(); seat++) {
+                handCounts.put(state.getPlayerIdAt(seat), state.hands[seat].size());
+            }
+        }
+        return handCounts;
+    }
+
+    @Override
+    public Card drawCard(int gameId, int playerId) {
+        GameState state = getState(gameId);
+        synchronized (state) {
+            Card card = UnoEngine.drawCard(state, playerId);
+            changeNotifier.fire(gameId, false, null, Set.of(playerId), false, -1);
+            return card;
+        }
+    }
+
+    @Override
+    public List<Card> drawCards(int gameId, int playerId, int count) {
+        GameState state = getState(gameId);
+        synchronized (state) {
+            List<Card> cards = UnoEngine.drawCards(state, playerId, count);
+            changeNotifier.fire(gameId, false, null, Set.of(playerId), false, -1);
+            return cards;
+        }
+    }
+
+    @Override
+    public boolean processMove(int gameId, int playerId, Card cardToPlay, String action, String nextColor) {
+        GameState state = getState(gameId);
+        synchronized (state) {
+            int pendingBefore = state.getPendingDrawStack();
+            UnoEngine.processMove(state, playerId, cardToPlay, action, nextColor);
+            boolean handChanged = action.equalsIgnoreCase("played") || pendingBefore > 0;
+            changeNotifier.fire(gameId, true, state.toStatus(), handChanged ? Set.of(playerId) : Set.of(), false, -1);
+        }
+        synchronized (stats) {
+            stats.totalTurnsPlayed++;
+            if (action.equalsIgnoreCase("played")) {
+                if (cardToPlay.getCardValue() == CardValue.DRAW2) stats.draw2Count++;
+                if (cardToPlay.getCardValue() == CardValue.WILD4) stats.wild4Count++;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ends a game once. A repeated call (e.g. a second client announcing the same win) changes nothing
+     * and is not counted again, matching the JDBC store's "status <> 'finished'" guard.
+     */
+    @Override
+    public void endGame(int gameId, int winnerId) {
+        GameState state = getState(gameId);
+        synchronized (state) {
+            if (state.isFinished()) return;
+            UnoEngine.endGame(state, winnerId);
+            changeNotifier.fire(gameId, false, null, Set.of(), true, winnerId);
+        }
+        boolean aiWinner = sessionPlayers.stream()
+                .anyMatch(p -> p.getPlayerId() == winnerId && p.getType().equalsIgnoreCase("AI"));
+        synchronized (stats) {
+            stats.totalGamesFinished++;
+            if (aiWinner) {
+                stats.aiWins++;
+            } else {
+                stats.humanWins++;
+            }
+        }
+    }
+
+    @Override
+    public GameStatistics getGameStatistics() {
+        GameStatistics copy = new GameStatistics();
+        synchronized (stats) {
+            copy.totalGamesFinished = stats.totalGamesFinished;
+            copy.totalTurnsPlayed = stats.totalTurnsPlayed;
+            copy.aiWins = stats.aiWins;
+            copy.humanWins = stats.humanWins;
+            copy.draw2Count = stats.draw2Count;
+            copy.wild4Count = stats.wild4Count;
+        }
+        return copy;
+    }
+
+    @Override
+    public void addGameChangeListener(GameChangeListener listener) {
+        changeNotifier.addListener(listener);
+    }
+
+    @Override
+    public void removeGameChangeListener(GameChangeListener listener) {
+        changeNotifier.removeListener(listener);
+    }
+
+    @Override
+    public void shutdown() {
+        // Nothing to flush
+    }
+}
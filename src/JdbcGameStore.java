@@ -0,0 +1,187 @@
+// --- File: src/JdbcGameStore.java ---
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JdbcGameStore: The MySQL-backed GameStore.
+ * Each call leases its own pooled connection and delegates to GameController.
+ */
+public class JdbcGameStore implements GameStore {
+
+    private final GameController gameController;
+
+    // Players of the current session (set by setupSessionPlayers)
+    private volatile List<Player> sessionPlayers = Collections.emptyList();
+
+    // Last statistics read, reused until the TTL runs out or a game ends (-Duno.stats.ttlMillis, default 30 s)
+    private final long statsTtlNanos;
+    private volatile GameStatistics cachedStats;
+    private volatile long cachedStatsAt;
+    private final AtomicLong statsGeneration = new AtomicLong();
+
+    // With -Duno.sync.poll=true each started game is polled for moves made by other clients on the same database
+    private final boolean syncPolling = Boolean.getBoolean("uno.sync.poll");
+    private final Map<Integer, GameSyncPoller> pollers = new ConcurrentHashMap<>();
+
+    public JdbcGameStore(GameController gameController) {
+        this(gameController, Long.getLong("uno.stats.ttlMillis", 30_000L));
+    }
+
+    public JdbcGameStore(GameController gameController, long statsTtlMillis) {
+        this.gameController = gameController;
+        this.statsTtlNanos = TimeUnit.MILLISECONDS.toNanos(statsTtlMillis);
+    }
+
+    public GameController getGameController() { return gameController; }
+
+    @Override
+    public void setupSessionPlayers(int aiOpponentCount) throws SQLException {
+        try (Connection conn = DBConnector.leaseConnection()) {
+            sessionPlayers = Collections.unmodifiableList(gameController.setupSessionPlayers(conn, aiOpponentCount));
+        }
+    }
+
+    @Override
+    public List<Player> listAllPlayers() throws SQLException {
+        if (!sessionPlayers.isEmpty()) {
+            return sessionPlayers;
+        }
+        try (Connection conn = DBConnector.leaseConnection()) {
+            return gameController.listAllPlayers(conn);
+        }
+    }
+
+    @Override
+    public List<Player> listGamePlayers(int gameId) throws SQLException {
+        try (Connection conn = DBConnector.leaseConnection()) {
+            return gameController.listGamePlayers(conn, gameId);
+        }
+    }
+
+    @Override
+    public int startGame(List<Player> players) throws SQLException {
+        int gameId;
+        try (Connection conn = DBConnector.leaseConnection()) {
+            gameId = gameController.startGame(conn, players);
+        }
+        if (syncPolling) {
+            GameSyncPoller poller = new GameSyncPoller(gameController, gameId);
+            pollers.put(gameId, poller);
+            poller.start();
+        }
+        return gameId;
+    }
+
+    @Override
+    public GameStatus getGameStatus(int gameId) throws SQLException {
+        try (Connection conn = DBConnector.leaseConnection()) {
+            return gameController.getGameStatus(conn, gameId);
+        }
+    }
+
+    @Override
+    public List<Card> getPlayerHand(int gameId, int playerId) throws SQLException {
+        try (Connection conn = DBConnector.leaseConnection()) {
+            return gameController.getPlayerHand(conn, gameId, playerId);
+        }
+    }
+
+    @Override
+    public Map<Integer, Integer> getHandCounts(int gameId) throws SQLException {
+        try (Connection conn = DBConnector.leaseConnection()) {
+            return gameController.getHandCounts(conn, gameId);
+        }
+    }
+
+    @Override
+    public Card drawCard(int gameId, int playerId) throws SQLException {
+        try (Connection conn = DBConnector.leaseConnection()) {
+            return gameController.drawCard(conn, gameId, playerId);
+        }
+    }
+
+    @Override
+    public List<Card> drawCards(int gameId, int playerId, int count) throws SQLException {
+        try (Connection conn = DBConnector.leaseConnection()) {
+            return gameController.drawCards(conn, gameId, playerId, count);
+        }
+    }
+
+    @Override
+    public boolean processMove(int gameId, int playerId, Card cardToPlay, String action, String nextColor) throws SQLException {
+        try (Connection conn = DBConnector.leaseConnection()) {
+            return gameController.processMove(conn, gameId, playerId, cardToPlay, action, nextColor);
+        }
+    }
+
+    @Override
+    public void endGame(int gameId, int winnerId) throws SQLException {
+        try (Connection conn = DBConnector.leaseConnection()) {
+            gameController.endGame(conn, gameId, winnerId);
+        } finally {
+            invalidateStatistics();
+            GameSyncPoller poller = pollers.remove(gameId);
+            if (poller != null) poller.stop();
+        }
+    }
+
+    /**
+     * Returns the cached statistics while they are younger than the TTL, otherwise reads them again.
+     */
+    @Override
+    public GameStatistics getGameStatistics() throws SQLException {
+        GameStatistics cached = cachedStats;
+        if (cached != null && System.nanoTime() - cachedStatsAt < statsTtlNanos) {
+            return cached;
+        }
+
+        long generation = statsGeneration.get();
+        GameStatistics stats;
+        try (Connection conn = DBConnector.leaseConnection()) {
+            stats = gameController.getGameStatistics(conn);
+        }
+        // Don't cache a result that an endGame may have overtaken while it was being read
+        synchronized (statsGeneration) {
+            if (statsGeneration.get() == generation) {
+                cachedStats = stats;
+                cachedStatsAt = System.nanoTime();
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Drops the cached statistics so the next read goes to the database.
+     */
+    public void invalidateStatistics() {
+        synchronized (statsGeneration) {
+            statsGeneration.incrementAndGet();
+            cachedStats = null;
+        }
+    }
+
+    @Override
+    public void addGameChangeListener(GameChangeListener listener) {
+        gameController.addGameChangeListener(listener);
+    }
+
+    @Override
+    public void removeGameChangeListener(GameChangeListener listener) {
+        gameController.removeGameChangeListener(listener);
+    }
+
+    @Override
+    public void shutdown() {
+        pollers.values().forEach(GameSyncPoller::stop);
+        pollers.clear();
+        gameController.shutdown();
+        DBConnector.shutdown();
+    }
+}
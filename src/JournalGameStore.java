@@ -0,0 +1,414 @@
+// --- File: src/JournalGameStore.java ---
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JournalGameStore: An event-sourced, crash-safe local GameStore with no database.
+ *
+ * Games run in memory exactly as in InMemoryGameStore. Every state change is first appended
+ * as a compact binary event to a memory-mapped EventJournal and only then applied, so memory
+ * never shows a change the journal does not have. Every N events the whole store is written
+ * to a snapshot file and older journal segments are dropped. On startup the store loads the
+ * latest snapshot and replays only the events after it. Replay is exact because shuffles come
+ * from the seeded RNG inside GameState. An event the rules rejected when it was made (e.g. an
+ * invalid move) is rejected the same way on replay and skipped.
+ *
+ * Finished games are left out of snapshots; their results live on in the statistics.
+ */
+public class JournalGameStore extends InMemoryGameStore {
+
+    // --- Event types ---
+    private static final byte EVENT_SESSION = 1;
+    private static final byte EVENT_GAME_STARTED = 2;
+    private static final byte EVENT_CARD_DRAWN = 3;
+    private static final byte EVENT_MOVE = 4;
+    private static final byte EVENT_GAME_ENDED = 5;
+    private static final byte EVENT_CARDS_DRAWN = 6;
+
+    private static final byte ACTION_PLAYED = 1;
+    private static final byte ACTION_DRAWN_AND_PASSED = 2;
+    private static final String[] COLORS = {null, "red", "green", "blue", "yellow"};
+
+    private static final int SNAPSHOT_MAGIC = 0x554E4F53; // "UNOS"
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+
+    private final Path directory;
+    private final EventJournal journal;
+    private final int snapshotEvery;
+    private long lastSeq = 0;
+    private long snapshotSeq = 0;
+    private int eventsSinceSnapshot = 0;
+
+    /**
+     * Opens (or creates) a journal directory and rebuilds every unfinished game from it.
+     * @param snapshotEvery number of events between snapshots
+     * @param forceOnAppend fsync each event (slower, survives power loss) instead of relying on the OS page cache
+     */
+    public JournalGameStore(Path directory, int segmentBytes, int snapshotEvery, boolean forceOnAppend) throws IOException {
+        this.directory = directory;
+        this.snapshotEvery = snapshotEvery;
+        this.journal = new EventJournal(directory, segmentBytes, forceOnAppend);
+
+        long start = System.nanoTime();
+        loadSnapshot();
+        int[] replayed = {0};
+        journal.replay(record -> {
+            if (applyEvent(record)) replayed[0]++;
+        });
+        eventsSinceSnapshot = replayed[0];
+        System.out.printf("Journal recovered %d games (snapshot seq %d + %d events) in %.1f ms.%n",
+                          games.size(), snapshotSeq, replayed[0], (System.nanoTime() - start) / 1_000_000.0);
+    }
+
+    /**
+     * Opens the journal at -Duno.journal.dir (default "uno-journal") with 16 MB segments.
+     */
+    public static JournalGameStore fromSystemProperties() throws IOException {
+        Path dir = Path.of(System.getProperty("uno.journal.dir", "uno-journal"));
+        int snapshotEvery = Integer.getInteger("uno.journal.snapshotEvery", 1000);
+        boolean force = Boolean.getBoolean("uno.journal.fsync");
+        return new JournalGameStore(dir, 16 * 1024 * 1024, snapshotEvery, force);
+    }
+
+    // --- Mutations: append the event, then apply it in memory ---
+
+    @Override
+    public synchronized void setupSessionPlayers(int aiOpponentCount) {
+        List<Player> players = sessionPlayersFor(aiOpponentCount);
+        append(out -> {
+            out.writeByte(EVENT_SESSION);
+            out.writeLong(lastSeq + 1);
+            out.writeByte(players.size());
+            for (Player p : players) {
+                out.writeInt(p.getPlayerId());
+                out.writeBoolean(p.getType().equalsIgnoreCase("AI"));
+                out.writeUTF(p.getName());
+            }
+        });
+        try {
+            super.setupSessionPlayers(aiOpponentCount);
+        } finally {
+            eventApplied();
+        }
+    }
+
+    @Override
+    public synchronized int startGame(List<Player> players, long seed) {
+        int gameId = nextGameId.get(); // createGame moves nextGameId past it
+        int[] seats = players.stream().mapToInt(Player::getPlayerId).toArray();
+        append(out -> {
+            out.writeByte(EVENT_GAME_STARTED);
+            out.writeLong(lastSeq + 1);
+            out.writeInt(gameId);
+            out.writeLong(seed);
+            out.writeByte(seats.length);
+            for (int seat : seats) out.writeInt(seat);
+        });
+        try {
+            createGame(gameId, seats, seed);
+            return gameId;
+        } finally {
+            eventApplied();
+        }
+    }
+
+    @Override
+    public synchronized Card drawCard(int gameId, int playerId) {
+        append(out -> {
+            out.writeByte(EVENT_CARD_DRAWN);
+            out.writeLong(lastSeq + 1);
+            out.writeInt(gameId);
+            out.writeInt(playerId);
+        });
+        try {
+            return super.drawCard(gameId, playerId);
+        } finally {
+            eventApplied();
+        }
+    }
+
+    @Override
+    public synchronized List<Card> drawCards(int gameId, int playerId, int count) {
+        append(out -> {
+            out.writeByte(EVENT_CARDS_DRAWN);
+            out.writeLong(lastSeq + 1);
+            out.writeInt(gameId);
+            out.writeInt(playerId);
+            out.writeShort(count);
+        });
+        try {
+            return super.drawCards(gameId, playerId, count);
+        } finally {
+            eventApplied();
+        }
+    }
+
+    @Override
+    public synchronized boolean processMove(int gameId, int playerId, Card cardToPlay, String action, String nextColor) {
+        append(out -> {
+            out.writeByte(EVENT_MOVE);
+            out.writeLong(lastSeq + 1);
+            out.writeInt(gameId);
+            out.writeInt(playerId);
+            out.writeShort(cardToPlay == null ? 0 : cardToPlay.getCardId());
+            out.writeByte(action.equalsIgnoreCase("played") ? ACTION_PLAYED : ACTION_DRAWN_AND_PASSED);
+            out.writeByte(colorCode(nextColor));
+        });
+        try {
+            return super.processMove(gameId, playerId, cardToPlay, action, nextColor);
+        } finally {
+            eventApplied();
+        }
+    }
+
+    @Override
+    public synchronized void endGame(int gameId, int winnerId) {
+        if (getState(gameId).isFinished()) return; // Nothing to record; the store ignores a repeated end
+        append(out -> {
+            out.writeByte(EVENT_GAME_ENDED);
+            out.writeLong(lastSeq + 1);
+            out.writeInt(gameId);
+            out.writeInt(winnerId);
+        });
+        try {
+            super.endGame(gameId, winnerId);
+        } finally {
+            eventApplied();
+        }
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        try {
+            writeSnapshot();
+            journal.close();
+        } catch (IOException e) {
+            System.err.println("Could not close the game journal cleanly: " + e.getMessage());
+        }
+    }
+
+    // --- Journal plumbing ---
+
+    private interface EventWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Writes the next event (numbered lastSeq + 1) to the journal. If this throws, nothing was
+     * applied, and the sequence number is not used up.
+     */
+    private void append(EventWriter writer) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+            writer.write(new DataOutputStream(bytes));
+            journal.append(bytes.toByteArray());
+            lastSeq++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to the game journal", e);
+        }
+    }
+
+    /**
+     * Called once the appended event has been applied (or rejected by the rules, which replay repeats).
+     * Takes a snapshot every snapshotEvery events. A failed snapshot is only reported: every event
+     * is still in the journal, which is compacted only after a snapshot is safely on disk.
+     */
+    private void eventApplied() {
+        if (++eventsSinceSnapshot < snapshotEvery) return;
+        try {
+            writeSnapshot();
+        } catch (IOException e) {
+            System.err.println("Could not write a game snapshot (the journal still has every event): " + e.getMessage());
+        }
+    }
+
+    /**
+     * Re-applies one journaled event. Returns false for events already covered by the snapshot.
+     */
+    private boolean applyEvent(ByteBuffer record) {
+        try {
+            byte[] bytes = new byte[record.remaining()];
+            record.get(bytes);
+            DataInputStream in = new DataInputStream(new java.io.ByteArrayInputStream(bytes));
+            byte type = in.readByte();
+            long seq = in.readLong();
+            if (seq <= lastSeq) return false;
+            lastSeq = seq;
+
+            try {
+                replayEvent(type, seq, in);
+            } catch (RuntimeException e) {
+                // Applying this event failed the same way when it was made (e.g. an invalid move), so the state still matches
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt game journal", e);
+        }
+    }
+
+    /**
+     * Applies one decoded event through the in-memory store.
+     */
+    private void replayEvent(byte type, long seq, DataInputStream in) throws IOException {
+        switch (type) {
+            case EVENT_SESSION: {
+                int count = in.readUnsignedByte();
+                List<Player> players = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    int id = in.readInt();
+                    String playerType = in.readBoolean() ? "AI" : "human";
+                    players.add(new Player(id, in.readUTF(), playerType, 0));
+                }
+                sessionPlayers = Collections.unmodifiableList(players);
+                break;
+            }
+            case EVENT_GAME_STARTED: {
+                int gameId = in.readInt();
+                long seed = in.readLong();
+                int[] seats = new int[in.readUnsignedByte()];
+                for (int i = 0; i < seats.length; i++) seats[i] = in.readInt();
+                createGame(gameId, seats, seed);
+                break;
+            }
+            case EVENT_CARD_DRAWN:
+                super.drawCard(in.readInt(), in.readInt());
+                break;
+            case EVENT_CARDS_DRAWN:
+                super.drawCards(in.readInt(), in.readInt(), in.readUnsignedShort());
+                break;
+            case EVENT_MOVE: {
+                int gameId = in.readInt();
+                int playerId = in.readInt();
+                int cardId = in.readUnsignedShort();
+                String action = in.readByte() == ACTION_PLAYED ? "played" : "drawn_and_passed";
+                String color = COLORS[in.readUnsignedByte()];
+                super.processMove(gameId, playerId, cardId == 0 ? null : CardCatalog.get(cardId), action, color);
+                break;
+            }
+            case EVENT_GAME_ENDED:
+                super.endGame(in.readInt(), in.readInt());
+                break;
+            default:
+                throw new IOException("Unknown journal event type " + type + " at seq " + seq);
+        }
+    }
+
+    /**
+     * Writes the whole store to a snapshot file (atomically) and drops the journal segments it covers.
+     * The file and the rename are forced to disk before any segment is deleted, so a power loss
+     * leaves either the old snapshot and its segments or the new snapshot.
+     */
+    private void writeSnapshot() throws IOException {
+        Path tmp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(lastSeq);
+            out.writeInt(nextGameId.get());
+
+            out.writeByte(sessionPlayers.size());
+            for (Player p : sessionPlayers) {
+                out.writeInt(p.getPlayerId());
+                out.writeBoolean(p.getType().equalsIgnoreCase("AI"));
+                out.writeUTF(p.getName());
+            }
+            synchronized (stats) {
+                out.writeInt(stats.totalGamesFinished);
+                out.writeInt(stats.totalTurnsPlayed);
+                out.writeInt(stats.aiWins);
+                out.writeInt(stats.humanWins);
+                out.writeInt(stats.draw2Count);
+                out.writeInt(stats.wild4Count);
+            }
+
+            List<GameState> live = new ArrayList<>();
+            for (GameState state : games.values()) {
+                if (!state.isFinished()) live.add(state);
+            }
+            out.writeInt(live.size());
+            for (GameState state : live) {
+                synchronized (state) {
+                    state.writeTo(out);
+                }
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(tmp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(directory);
+
+        // Finished games are now only in the statistics; free their memory too
+        games.values().removeIf(GameState::isFinished);
+        snapshotSeq = lastSeq;
+        eventsSinceSnapshot = 0;
+        journal.compact();
+    }
+
+    private void loadSnapshot() throws IOException {
+        Path file = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(file)) return;
+
+        try (DataInputStream in = new DataInputStream(new java.io.BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) throw new IOException("Not a game snapshot: " + file);
+            lastSeq = in.readLong();
+            snapshotSeq = lastSeq;
+            nextGameId.set(in.readInt());
+
+            int count = in.readUnsignedByte();
+            List<Player> players = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int id = in.readInt();
+                String playerType = in.readBoolean() ? "AI" : "human";
+                players.add(new Player(id, in.readUTF(), playerType, 0));
+            }
+            sessionPlayers = Collections.unmodifiableList(players);
+
+            stats.totalGamesFinished = in.readInt();
+            stats.totalTurnsPlayed = in.readInt();
+            stats.aiWins = in.readInt();
+            stats.humanWins = in.readInt();
+            stats.draw2Count = in.readInt();
+            stats.wild4Count = in.readInt();
+
+            int gameCount = in.readInt();
+            for (int i = 0; i < gameCount; i++) {
+                GameState state = GameState.readFrom(in);
+                games.put(state.getGameId(), state);
+            }
+        }
+    }
+
+    /**
+     * Makes a rename in dir durable. Windows cannot open a directory for this (NTFS journals the rename itself).
+     */
+    private static void forceDirectory(Path dir) throws IOException {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            if (!System.getProperty("os.name", "").startsWith("Windows")) throw e;
+        }
+    }
+
+    private static int colorCode(String color) {
+        if (color == null) return 0;
+        for (int i = 1; i < COLORS.length; i++) {
+            if (COLORS[i].equalsIgnoreCase(color)) return i;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,315 @@
+// --- File: src/MonteCarloStrategy.java ---
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * MonteCarloStrategy: A stronger AI that looks ahead by playing the game out many times.
+ *
+ * The player cannot see the other hands, so each round of the search first deals a plausible game
+ * (a "determinization"): every card the player has not seen (not in its own hand, not on the discard
+ * pile) is shuffled and dealt to the opponents according to their real hand sizes, the rest becomes
+ * the draw pile. Every candidate move is then tried on that same deal and played to the end with
+ * the greedy AI for all seats. The move with the best average result over all rounds is chosen.
+ * Because the rollouts run the real rules, opponents close to going out and pending draw stacks
+ * are taken into account without any hand-written scoring.
+ *
+ * Rounds run in parallel on a fork-join pool (one searcher per worker, each with its own random
+ * stream) until the per-move time budget is spent, so turn latency stays bounded. At least one
+ * round is always played. Results depend on how many rounds fit in the budget, so games using this
+ * strategy do not replay identically from a seed.
+ */
+public class MonteCarloStrategy implements AIStrategy {
+
+    // Rollouts longer than this are scored by hand sizes instead of played to the end
+    private static final int ROLLOUT_TURN_LIMIT = 300;
+    private static final CardColor[] PLAY_COLORS = {CardColor.RED, CardColor.GREEN, CardColor.BLUE, CardColor.YELLOW};
+
+    private final long budgetNanos;
+    private final ForkJoinPool pool;
+    private final int searchers;
+
+    /**
+     * A strategy that thinks for budgetMillis per move on the common fork-join pool.
+     */
+    public MonteCarloStrategy(long budgetMillis) {
+        this(budgetMillis, ForkJoinPool.commonPool(), ForkJoinPool.commonPool().getParallelism());
+    }
+
+    public MonteCarloStrategy(long budgetMillis, ForkJoinPool pool, int searchers) {
+        if (budgetMillis < 1) throw new IllegalArgumentException("The time budget must be at least 1 ms.");
+        if (searchers < 1) throw new IllegalArgumentException("At least one searcher is required.");
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.pool = pool;
+        this.searchers = searchers;
+    }
+
+    @Override
+    public String name() { return "montecarlo"; }
+
+    public long getBudgetMillis() { return budgetNanos / 1_000_000L; }
+
+    /**
+     * Chooses a move using only what the current player can see in the full game state:
+     * its own hand, the discard pile and how many cards each opponent holds.
+     */
+    @Override
+    public AIDecision choose(GameState state, SplittableRandom rng) {
+        int mySeat = state.getCurrentSeat();
+        int[] handSizes = new int[state.getSeatCount()];
+        for (int seat = 0; seat < handSizes.length; seat++) handSizes[seat] = state.handAt(seat).size();
+        int[] discard = new int[state.getDiscardPileSize()];
+        System.arraycopy(state.discardPile, 0, discard, 0, discard.length);
+
+        return search(new Observation(state.seats, mySeat, state.handAt(mySeat), handSizes, discard, state.isClockwise(),
+                                      state.getActiveCardColor(), state.getPendingDrawStack()), rng);
+    }
+
+    /**
+     * Chooses a move for a game kept in a GameStore (e.g. the GUI's), from what a bot at the table sees:
+     * the seating order, its hand, the opponents' card counts and the turn snapshot. Only the top card of
+     * the discard pile is known here, so the cards under it count as unseen.
+     */
+    public AIDecision choose(List<Player> seating, int playerId, List<Card> hand, Map<Integer, Integer> handCounts,
+                             GameStatus status, SplittableRandom rng) {
+        int[] seats = new int[seating.size()];
+        int[] handSizes = new int[seats.length];
+        int mySeat = -1;
+        for (int seat = 0; seat < seats.length; seat++) {
+            seats[seat] = seating.get(seat).getPlayerId();
+            handSizes[seat] = handCounts.getOrDefault(seats[seat], 0);
+            if (seats[seat] == playerId) mySeat = seat;
+        }
+        if (mySeat < 0) throw new IllegalArgumentException("Player " + playerId + " is not seated in this game.");
+
+        return search(new Observation(seats, mySeat, HandBits.of(hand), handSizes, new int[] {status.getTopCard().getCardId()},
+                                      status.getDirection().isClockwise(), status.getActiveCardColor(),
+                                      status.getPendingDrawStack()), rng);
+    }
+
+    // --- Search ---
+
+    private AIDecision search(Observation obs, SplittableRandom rng) {
+        Card topCard = CardCatalog.get(obs.discard[obs.discard.length - 1]);
+        AIDecision greedy = UnoEngine.getAIDecision(obs.myHand, topCard, obs.activeColor, obs.pendingDrawStack);
+        if (greedy.card == null) return greedy; // Nothing playable: draw
+
+        List<AIDecision> candidates = candidates(obs, topCard, greedy);
+        if (candidates.size() == 1) return candidates.get(0);
+
+        long deadline = System.nanoTime() + budgetNanos;
+        Searcher[] workers = new Searcher[searchers];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Searcher(obs, candidates, rng.split(), deadline);
+        }
+        if (workers.length == 1 || pool == null) {
+            for (Searcher worker : workers) worker.compute();
+        } else {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(workers);
+                }
+            });
+        }
+
+        // Highest average wins; ties keep the earlier candidate, and the greedy choice comes first
+        int best = 0;
+        double bestMean = -1;
+        for (int c = 0; c < candidates.size(); c++) {
+            double total = 0;
+            long rounds = 0;
+            for (Searcher worker : workers) {
+                total += worker.scores[c];
+                rounds += worker.rounds;
+            }
+            double mean = rounds == 0 ? 0 : total / rounds;
+            if (mean > bestMean) {
+                bestMean = mean;
+                best = c;
+            }
+        }
+        return candidates.get(best);
+    }
+
+    /**
+     * The distinct legal plays: identical cards (the two red 5s) are one candidate, and a Wild is one
+     * candidate per color. The greedy AI's choice is placed first.
+     */
+    private static List<AIDecision> candidates(Observation obs, Card topCard, AIDecision greedy) {
+        List<AIDecision> candidates = new ArrayList<>();
+        candidates.add(greedy);
+        boolean[] seenKind = new boolean[128];
+        seenKind[greedy.card.getPacked()] = !greedy.card.isWild();
+        for (int id = obs.myHand.first(); id >= 0; id = obs.myHand.next(id)) {
+            Card card = CardCatalog.get(id);
+            if (seenKind[card.getPacked()] || !UnoEngine.isValidMove(card, topCard, obs.activeColor, obs.pendingDrawStack)) continue;
+            seenKind[card.getPacked()] = true;
+            if (card.isWild()) {
+                for (CardColor color : PLAY_COLORS) {
+                    boolean isGreedy = greedy.card.getPacked() == card.getPacked() && color.dbName().equals(greedy.nextColor);
+                    if (!isGreedy) candidates.add(new AIDecision(card, color.dbName()));
+                }
+            } else {
+                candidates.add(new AIDecision(card, null));
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * One fork-join leaf: plays rounds (one deal, every candidate) until the deadline and sums the results.
+     */
+    private static final class Searcher extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Observation obs;
+        private final List<AIDecision> candidates;
+        private final SplittableRandom rng;
+        private final long deadline;
+        private final GameState deal;    // The sampled game, before our move
+        private final GameState rollout; // Scratch copy each candidate is played out on
+        private final int[] pool;
+
+        final double[] scores;
+        long rounds;
+
+        Searcher(Observation obs, List<AIDecision> candidates, SplittableRandom rng, long deadline) {
+            this.obs = obs;
+            this.candidates = candidates;
+            this.rng = rng;
+            this.deadline = deadline;
+            int deckSize = CardCatalog.all().size();
+            this.deal = new GameState(0, obs.seats, deckSize, 0L);
+            this.rollout = new GameState(0, obs.seats, deckSize, 0L);
+            this.pool = new int[obs.unseen.length];
+            this.scores = new double[candidates.size()];
+        }
+
+        @Override
+        protected void compute() {
+            do {
+                determinize();
+                for (int c = 0; c < scores.length; c++) {
+                    rollout.copyFrom(deal); // Same deal and same draw order for every candidate
+                    scores[c] += playOut(candidates.get(c));
+                }
+                rounds++;
+            } while (System.nanoTime() < deadline);
+        }
+
+        /**
+         * Deals the unseen cards: opponents get their real hand sizes, the rest is the draw pile.
+         */
+        private void determinize() {
+            System.arraycopy(obs.unseen, 0, pool, 0, pool.length);
+            for (int i = pool.length - 1; i > 0; i--) {
+                int j = rng.nextInt(i + 1);
+                int tmp = pool[i];
+                pool[i] = pool[j];
+                pool[j] = tmp;
+            }
+
+            int next = 0;
+            for (int seat = 0; seat < obs.seats.length; seat++) {
+                HandBits hand = deal.hands[seat];
+                if (seat == obs.mySeat) {
+                    hand.copyFrom(obs.myHand);
+                    continue;
+                }
+                hand.clear();
+                for (int i = 0; i < obs.handSizes[seat] && next < pool.length; i++) hand.add(pool[next++]);
+            }
+            deal.drawSize = pool.length - next;
+            System.arraycopy(pool, next, deal.drawPile, 0, deal.drawSize);
+            System.arraycopy(obs.discard, 0, deal.discardPile, 0, obs.discard.length);
+            deal.discardSize = obs.discard.length;
+            deal.currentSeat = obs.mySeat;
+            deal.clockwise = obs.clockwise;
+            deal.activeColor = obs.activeColor;
+            deal.pendingDrawStack = obs.pendingDrawStack;
+            deal.turnNumber = 0;
+            deal.finished = false;
+            deal.winnerId = -1;
+            deal.rngState = rng.nextLong();
+        }
+
+        /**
+         * Plays the candidate, then greedy moves for everyone. 1 is a win, 0 a loss; a game that does not
+         * finish in time scores by how our hand compares to the smallest opponent hand.
+         */
+        private double playOut(AIDecision move) {
+            GameState g = rollout;
+            try {
+                UnoEngine.processMove(g, g.seats[obs.mySeat], move.card, "played", move.nextColor);
+                if (g.hands[obs.mySeat].isEmpty()) return 1.0;
+
+                while (g.turnNumber < ROLLOUT_TURN_LIMIT) {
+                    int seat = g.currentSeat;
+                    int playerId = g.seats[seat];
+                    int greedy = UnoEngine.greedyMove(g.hands[seat], g.getTopCard(), g.activeColor, g.pendingDrawStack);
+                    if (greedy == UnoEngine.NO_MOVE) {
+                        if (g.pendingDrawStack == 0) UnoEngine.drawCard(g, playerId);
+                        UnoEngine.processMove(g, playerId, null, "drawn_and_passed", null);
+                    } else {
+                        CardColor color = UnoEngine.moveColor(greedy);
+                        UnoEngine.processMove(g, playerId, CardCatalog.get(UnoEngine.moveCardId(greedy)), "played",
+                                              color != null ? color.dbName() : null);
+                        if (g.hands[seat].isEmpty()) return seat == obs.mySeat ? 1.0 : 0.0;
+                    }
+                }
+            } catch (IllegalStateException e) {
+                // Stalled: every card is in someone's hand. Score the position as it stands.
+            }
+            int mine = g.hands[obs.mySeat].size();
+            int smallest = Integer.MAX_VALUE;
+            for (int seat = 0; seat < g.seats.length; seat++) {
+                if (seat != obs.mySeat) smallest = Math.min(smallest, g.hands[seat].size());
+            }
+            return (double) smallest / (mine + smallest);
+        }
+    }
+
+    /**
+     * What the deciding player knows: seating, its own hand, everyone's hand size, the visible discards,
+     * and the turn state. unseen holds every other card, i.e. the opponents' hands plus the draw pile.
+     */
+    private static final class Observation {
+        final int[] seats;
+        final int mySeat;
+        final HandBits myHand;
+        final int[] handSizes;
+        final int[] discard; // Bottom to top
+        final boolean clockwise;
+        final CardColor activeColor;
+        final int pendingDrawStack;
+        final int[] unseen;
+
+        Observation(int[] seats, int mySeat, HandBits myHand, int[] handSizes, int[] discard, boolean clockwise,
+                    CardColor activeColor, int pendingDrawStack) {
+            this.seats = seats.clone();
+            this.mySeat = mySeat;
+            this.myHand = new HandBits(myHand);
+            this.handSizes = handSizes;
+            this.discard = discard;
+            this.clockwise = clockwise;
+            this.activeColor = activeColor;
+            this.pendingDrawStack = pendingDrawStack;
+
+            HandBits seen = new HandBits(myHand);
+            for (int cardId : discard) seen.add(cardId);
+            List<Card> catalog = CardCatalog.all();
+            int[] rest = new int[catalog.size()];
+            int count = 0;
+            for (Card card : catalog) {
+                if (!seen.contains(card.getCardId())) rest[count++] = card.getCardId();
+            }
+            this.unseen = Arrays.copyOf(rest, count);
+        }
+    }
+}
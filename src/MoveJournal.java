@@ -0,0 +1,406 @@
+// --- File: src/MoveJournal.java ---
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MoveJournal: Writes the Moves audit log, either inside the gameplay transaction
+ * or behind it through a bounded queue drained by a background writer.
+ *
+ * Durability levels:
+ *   SYNC         - the Moves row is inserted in the move's own transaction (the original behavior).
+ *   GROUP_COMMIT - the move waits after its commit until the writer has flushed the batch holding it.
+ *   ASYNC        - the move returns as soon as the record is queued; it is flushed within the flush interval.
+ *
+ * The writer flushes when a batch is full or when the flush interval passes, whichever comes first.
+ * A batch that still fails after MAX_FLUSH_ATTEMPTS is never discarded: it is kept and retried with
+ * the next batch, and flush() writes it on the caller's thread, throwing if it still cannot.
+ */
+public class MoveJournal {
+
+    public enum Durability { SYNC, GROUP_COMMIT, ASYNC }
+
+    private static final String SQL_INSERT_MOVE =
+        "INSERT INTO Moves (game_id, player_id, card_id, action, turn_number) VALUES (?, ?, ?, ?, ?)";
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+    private static final long GROUP_COMMIT_TIMEOUT_MS = 10_000;
+    private static final long RETRY_INTERVAL_MS = 1_000;  // How often an idle writer retries undelivered records
+
+    private final Durability durability;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final int capacity;
+    private final BlockingQueue<Entry> queue;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // Records whose flush failed, oldest first; retried before anything newer (guarded by itself)
+    private final Deque<Entry> undelivered = new ArrayDeque<>();
+    private volatile long lastFailureNanos;
+
+    // --- Backpressure / throughput counters ---
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong flushedRecords = new AtomicLong();
+    private final AtomicLong flushedBatches = new AtomicLong();
+    private final AtomicLong failedRecords = new AtomicLong();
+    private final AtomicLong producerBlocks = new AtomicLong();
+    private final AtomicLong producerBlockedNanos = new AtomicLong();
+    private final AtomicLong maxQueueDepth = new AtomicLong();
+
+    public MoveJournal(Durability durability, int capacity, int batchSize, long flushIntervalMillis) {
+        this.durability = durability;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        if (durability == Durability.SYNC) {
+            this.writer = null;
+        } else {
+            this.writer = new Thread(this::runWriter, "uno-move-journal");
+            this.writer.setDaemon(true);
+            this.writer.start();
+        }
+    }
+
+    /**
+     * Builds a journal from -Duno.journal.durability=SYNC|GROUP_COMMIT|ASYNC (default SYNC),
+     * -Duno.journal.capacity, -Duno.journal.batchSize and -Duno.journal.flushMillis.
+     */
+    public static MoveJournal fromSystemProperties() {
+        Durability durability = Durability.valueOf(System.getProperty("uno.journal.durability", "SYNC").trim().toUpperCase());
+        int capacity = Integer.getInteger("uno.journal.capacity", 4096);
+        int batchSize = Integer.getInteger("uno.journal.batchSize", 64);
+        long flushMillis = Long.getLong("uno.journal.flushMillis", 50L);
+        return new MoveJournal(durability, capacity, batchSize, flushMillis);
+    }
+
+    public Durability getDurability() { return durability; }
+
+    /**
+     * Called inside the move's transaction. In SYNC mode the Moves row is written here; otherwise nothing happens.
+     */
+    public void recordInTransaction(Connection conn, Entry entry) throws SQLException {
+        if (durability != Durability.SYNC) return;
+        try (PreparedStatement pstmt = conn.prepareStatement(SQL_INSERT_MOVE)) {
+            bind(pstmt, entry);
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Called after the move's transaction has committed. Queues the record for the writer
+     * (blocking while the queue is full) and, in GROUP_COMMIT mode, waits for its batch to be flushed.
+     */
+    public void recordAfterCommit(Entry entry) {
+        if (durability == Durability.SYNC) return;
+
+        if (!queue.offer(entry)) {
+            // Queue full: the writer is behind, so the game thread has to wait (backpressure)
+            long start = System.nanoTime();
+            producerBlocks.incrementAndGet();
+            try {
+                queue.put(entry);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                keepUndelivered(List.of(entry));
+                System.err.println("Interrupted while queueing move " + entry + "; it is kept for the next flush.");
+                return;
+            } finally {
+                producerBlockedNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+        enqueued.incrementAndGet();
+        maxQueueDepth.accumulateAndGet(queue.size(), Math::max);
+
+        if (durability == Durability.GROUP_COMMIT) {
+            awaitFlushed(entry.flushed);
+        }
+    }
+
+    /**
+     * Blocks until every record queued so far has been written. Records the writer could not flush are
+     * written here, on the caller's thread. Used by endGame, the statistics backfill and shutdown.
+     * @throws SQLException if some records still cannot be written; they are kept for the next flush.
+     */
+    public void flush() throws SQLException {
+        if (durability == Durability.SYNC) return;
+        Entry barrier = Entry.barrier();
+        try {
+            queue.put(barrier);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        awaitFlushed(barrier.flushed);
+        writeUndelivered();
+    }
+
+    /**
+     * Synchronous fallback for records whose background flush failed.
+     */
+    private void writeUndelivered() throws SQLException {
+        List<Entry> records = takeUndelivered();
+        if (records.isEmpty()) return;
+        try {
+            insertRecords(records);
+        } catch (SQLException e) {
+            keepUndelivered(records);
+            throw new SQLException("Move journal could not write " + records.size() + " moves; they are kept for retry.", e);
+        }
+        flushedRecords.addAndGet(records.size());
+        flushedBatches.incrementAndGet();
+        System.out.println("Move journal wrote " + records.size() + " moves that had failed to flush.");
+    }
+
+    /**
+     * Flushes everything still queued and stops the writer thread.
+     */
+    public void shutdown() {
+        if (durability == Durability.SYNC || !running) return;
+        try {
+            flush();
+        } catch (SQLException e) {
+            System.err.println(e.getMessage() + " Cause: " + e.getCause().getMessage());
+        }
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join(GROUP_COMMIT_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.println("Move journal stopped: " + getStats());
+    }
+
+    /**
+     * Returns a snapshot of the journal counters.
+     */
+    public Stats getStats() {
+        int pendingRetry;
+        synchronized (undelivered) {
+            pendingRetry = undelivered.size();
+        }
+        return new Stats(durability, queue.size(), capacity, maxQueueDepth.get(), enqueued.get(), flushedRecords.get(),
+                         flushedBatches.get(), failedRecords.get(), pendingRetry, producerBlocks.get(), producerBlockedNanos.get());
+    }
+
+    // --- Background writer ---
+
+    private void runWriter() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    // Nothing new: retry earlier failures now and then, so they don't wait for the next move
+                    if (System.nanoTime() - lastFailureNanos > TimeUnit.MILLISECONDS.toNanos(RETRY_INTERVAL_MS)) {
+                        writeBatch(batch);
+                    }
+                    continue;
+                }
+                batch.add(first);
+
+                // Keep collecting until the batch is full or the flush interval has passed
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize && !first.isBarrier()) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+                    Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                    if (next.isBarrier()) break;
+                }
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    queue.drainTo(batch);
+                    writeBatch(batch);
+                    return;
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<Entry> batch) {
+        List<Entry> records = takeUndelivered(); // Earlier failures go first
+        for (Entry e : batch) {
+            if (!e.isBarrier()) records.add(e);
+        }
+
+        SQLException lastError = null;
+        if (!records.isEmpty()) {
+            for (int attempt = 1; attempt <= MAX_FLUSH_ATTEMPTS; attempt++) {
+                try {
+                    insertRecords(records);
+                    lastError = null;
+                    break;
+                } catch (SQLException e) {
+                    lastError = e;
+                    System.err.println("Move journal flush failed (attempt " + attempt + "): " + e.getMessage());
+                }
+            }
+            if (lastError == null) {
+                flushedRecords.addAndGet(records.size());
+                flushedBatches.incrementAndGet();
+            } else {
+                // Count each record once, on its first failure; all of them are kept for the next flush
+                failedRecords.addAndGet(records.stream().filter(e -> !e.flushed.isDone()).count());
+                keepUndelivered(records);
+                lastFailureNanos = System.nanoTime();
+                System.err.println("Move journal kept " + records.size() + " moves for retry.");
+            }
+        }
+
+        for (Entry e : batch) {
+            if (lastError == null || e.isBarrier()) {
+                e.flushed.complete(null);
+            } else {
+                e.flushed.completeExceptionally(lastError);
+            }
+        }
+    }
+
+    private static void insertRecords(List<Entry> records) throws SQLException {
+        try (Connection conn = DBConnector.leaseConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(SQL_INSERT_MOVE)) {
+                for (Entry e : records) {
+                    bind(pstmt, e);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private List<Entry> takeUndelivered() {
+        synchronized (undelivered) {
+            List<Entry> records = new ArrayList<>(undelivered);
+            undelivered.clear();
+            return records;
+        }
+    }
+
+    private void keepUndelivered(List<Entry> records) {
+        synchronized (undelivered) {
+            for (int i = records.size() - 1; i >= 0; i--) {
+                undelivered.addFirst(records.get(i)); // Ahead of anything kept meanwhile, so oldest stays first
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement pstmt, Entry entry) throws SQLException {
+        pstmt.setInt(1, entry.gameId);
+        pstmt.setInt(2, entry.playerId);
+        pstmt.setInt(3, entry.cardId);
+        pstmt.setString(4, entry.action);
+        pstmt.setInt(5, entry.turnNumber);
+    }
+
+    private static void awaitFlushed(CompletableFuture<Void> flushed) {
+        try {
+            flushed.get(GROUP_COMMIT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Move journal could not persist a move yet (kept for retry): " + e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            System.err.println("Timed out waiting for the move journal to flush.");
+        }
+    }
+
+    /**
+     * One Moves row waiting to be written.
+     */
+    public static class Entry {
+        final int gameId;
+        final int playerId;
+        final int cardId;
+        final String action;
+        final int turnNumber;
+        final CompletableFuture<Void> flushed = new CompletableFuture<>();
+
+        public Entry(int gameId, int playerId, int cardId, String action, int turnNumber) {
+            this.gameId = gameId;
+            this.playerId = playerId;
+            this.cardId = cardId;
+            this.action = action;
+            this.turnNumber = turnNumber;
+        }
+
+        // A marker with no row; it completes once everything queued before it is written
+        static Entry barrier() {
+            return new Entry(-1, -1, -1, null, -1);
+        }
+
+        boolean isBarrier() {
+            return action == null;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Move[game=%d, player=%d, card=%d, action=%s, turn=%d]", gameId, playerId, cardId, action, turnNumber);
+        }
+    }
+
+    /**
+     * A simple data-holder for the journal counters.
+     */
+    public static class Stats {
+        public final Durability durability;
+        public final int queueDepth;
+        public final int capacity;
+        public final long maxQueueDepth;
+        public final long enqueued;
+        public final long flushedRecords;
+        public final long flushedBatches;
+        public final long failedRecords;   // Records that failed a flush at least once
+        public final int pendingRetry;     // Of those, still not written
+        public final long producerBlocks;
+        public final long producerBlockedNanos;
+
+        Stats(Durability durability, int queueDepth, int capacity, long maxQueueDepth, long enqueued, long flushedRecords,
+              long flushedBatches, long failedRecords, int pendingRetry, long producerBlocks, long producerBlockedNanos) {
+            this.durability = durability;
+            this.queueDepth = queueDepth;
+            this.capacity = capacity;
+            this.maxQueueDepth = maxQueueDepth;
+            this.enqueued = enqueued;
+            this.flushedRecords = flushedRecords;
+            this.flushedBatches = flushedBatches;
+            this.failedRecords = failedRecords;
+            this.pendingRetry = pendingRetry;
+            this.producerBlocks = producerBlocks;
+            this.producerBlockedNanos = producerBlockedNanos;
+        }
+
+        @Override
+        public String toString() {
+            double avgBatch = flushedBatches == 0 ? 0.0 : (double) flushedRecords / flushedBatches;
+            return String.format("Journal[%s, queue=%d/%d, maxQueue=%d, enqueued=%d, flushed=%d in %d batches (avg %.1f), failed=%d, pendingRetry=%d, blocked=%d (%.1fms)]",
+                                 durability, queueDepth, capacity, maxQueueDepth, enqueued, flushedRecords, flushedBatches,
+                                 avgBatch, failedRecords, pendingRetry, producerBlocks, producerBlockedNanos / 1_000_000.0);
+        }
+    }
+}
@@ -1,6 +1,3 @@
-import java.util.List;
-import java.util.ArrayList;
-
 /**
  * Player: A simple Model/Entity class to represent an UNO player in the Java application.
  * This holds the in-memory data for the currently active game.
@@ -11,8 +8,8 @@ public class Player {
     private String type; // "human" or "AI"
     private int score;
     
-    // Stores the list of Card IDs the player currently holds in their hand
-    private List<Integer> currentHand; 
+    // The Card IDs the player currently holds, as a bitset (see HandBits)
+    private final HandBits currentHand;
 
     // Constructor to create a player object from database data
     public Player(int playerId, String name, String type, int score) {
@@ -20,7 +17,7 @@ public class Player {
         this.name = name;
         this.type = type;
         this.score = score;
-        this.currentHand = new ArrayList<>();
+        this.currentHand = new HandBits();
     }
 
     // --- Getters ---
@@ -40,7 +37,7 @@ public class Player {
         return score;
     }
 
-    public List<Integer> getCurrentHand() {
+    public HandBits getCurrentHand() {
         return currentHand;
     }
     
@@ -56,7 +53,7 @@ public class Player {
     
     // Helper to manage the in-memory hand (remove a played card)
     public boolean removeCardFromHand(int cardId) {
-        return this.currentHand.remove((Integer) cardId);
+        return this.currentHand.remove(cardId);
     }
     
     @Override
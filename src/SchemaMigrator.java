@@ -0,0 +1,230 @@
+// --- File: src/SchemaMigrator.java ---
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SchemaMigrator: Brings the database schema up to date from the numbered scripts in db/migrations.
+ *
+ * Scripts are named V&lt;n&gt;__&lt;description&gt;.sql and applied once each, in order; the applied
+ * versions are recorded in schema_version. Statements end with ';' at the end of a line.
+ * MySQL has no "ADD COLUMN IF NOT EXISTS", so errors meaning "already there" are skipped,
+ * which lets the runner adopt a database that was set up by hand from older README steps.
+ *
+ * After migrating, verifyQueryPlans() runs EXPLAIN on every hot GameController query and
+ * warns about any that would scan a whole table.
+ */
+public class SchemaMigrator {
+
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    private static final String LOCK_NAME = "uno_schema_migration";
+
+    // MySQL errors that mean the object a statement creates already exists
+    private static final Set<Integer> ALREADY_APPLIED = Set.of(
+            1050,  // Table already exists
+            1060,  // Duplicate column name
+            1061,  // Duplicate key name
+            1068,  // Multiple primary key defined
+            1826); // Duplicate foreign key constraint name
+
+    // The hot queries, with literal parameters so they can be EXPLAINed
+    private static final String[] HOT_QUERIES = {
+        "SELECT card_id FROM Hands WHERE game_id = 0 AND player_id = 0",
+        "SELECT player_id, COUNT(*) FROM Hands WHERE game_id = 0 GROUP BY player_id",
+        "DELETE FROM Hands WHERE game_id = 0 AND player_id = 0 AND card_id = 0 LIMIT 1",
+        "SELECT current_turn, direction, current_card_id, active_color, pending_draw_stack, version FROM Game WHERE game_id = 0",
+        "UPDATE Game SET current_turn = 0, pending_draw_stack = 0, version = version + 1 WHERE game_id = 0 AND version = 0",
+        "UPDATE Game SET status = 'finished', winner_id = 0 WHERE game_id = 0 AND status <> 'finished'",
+        "SELECT card_id FROM Deck WHERE game_id = 0 AND status = 'in_deck' ORDER BY deck_position LIMIT 1",
+        "SELECT card_id FROM Deck WHERE game_id = 0 AND status = 'in_discard' AND card_id != 0",
+        "SELECT COALESCE(MAX(deck_position), 0) + 1 FROM Deck WHERE game_id = 0",
+        "UPDATE Deck SET status = 'in_hand' WHERE game_id = 0 AND card_id = 0",
+        "SELECT player_id FROM GameSeats WHERE game_id = 0 ORDER BY seat_no",
+        "SELECT move_id, player_id, card_id, action, turn_number FROM Moves WHERE game_id = 0 AND move_id > 0 ORDER BY move_id",
+        "SELECT COUNT(*) FROM Game WHERE status = 'finished'",
+    };
+
+    private final Path directory;
+
+    public SchemaMigrator(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Applies every script newer than the recorded schema version. Returns the number applied.
+     * Holds a MySQL named lock so two clients starting together don't migrate at the same time.
+     */
+    public int migrate(Connection conn) throws SQLException {
+        TreeMap<Integer, Path> scripts = listScripts();
+        if (scripts.isEmpty()) {
+            System.err.println("No migration scripts found in " + directory.toAbsolutePath() + "; schema not checked.");
+            return 0;
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                         "version INT PRIMARY KEY, " +
+                         "description VARCHAR(200) NOT NULL, " +
+                         "applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            try (ResultSet rs = stmt.executeQuery("SELECT GET_LOCK('" + LOCK_NAME + "', 30)")) {
+                if (!rs.next() || rs.getInt(1) != 1) throw new SQLException("Timed out waiting for the schema migration lock.");
+            }
+        }
+
+        int applied = 0;
+        try {
+            Set<Integer> done = appliedVersions(conn);
+            for (var script : scripts.entrySet()) {
+                if (done.contains(script.getKey())) continue;
+                apply(conn, script.getKey(), script.getValue());
+                applied++;
+            }
+        } finally {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DO RELEASE_LOCK('" + LOCK_NAME + "')");
+            }
+        }
+        System.out.println(applied == 0
+                ? "Schema is up to date (version " + scripts.lastKey() + ")."
+                : "Applied " + applied + " schema migration(s); schema is now at version " + scripts.lastKey() + ".");
+        return applied;
+    }
+
+    /**
+     * EXPLAINs each hot query and prints a warning for any that has no usable index.
+     * Returns the number of warnings.
+     */
+    public int verifyQueryPlans(Connection conn) throws SQLException {
+        int warnings = 0;
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : HOT_QUERIES) {
+                try (ResultSet rs = stmt.executeQuery("EXPLAIN " + sql)) {
+                    while (rs.next()) {
+                        String key = rs.getString("key");
+                        String extra = rs.getString("Extra");
+                        if (key == null && !resolvedWithoutScan(extra)) {
+                            warnings++;
+                            System.err.printf("Query plan warning: %s scans table %s (type=%s, rows=%s)%n",
+                                              sql, rs.getString("table"), rs.getString("type"), rs.getString("rows"));
+                        }
+                    }
+                }
+            }
+        }
+        if (warnings == 0) {
+            System.out.println("All " + HOT_QUERIES.length + " hot queries use an index.");
+        }
+        return warnings;
+    }
+
+    // --- Internal helpers ---
+
+    /**
+     * Plans with no key that still don't scan: MIN/MAX answered from an index, or an empty/const lookup.
+     */
+    private static boolean resolvedWithoutScan(String extra) {
+        if (extra == null) return false;
+        return extra.contains("optimized away")
+            || extra.contains("no matching row")
+            || extra.contains("Impossible WHERE")
+            || extra.contains("const row not found")
+            || extra.contains("No tables used");
+    }
+
+    private void apply(Connection conn, int version, Path script) throws SQLException {
+        long startNanos = System.nanoTime();
+        List<String> statements;
+        try {
+            statements = splitStatements(new String(Files.readAllBytes(script), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new SQLException("Cannot read migration " + script + ": " + e.getMessage(), e);
+        }
+
+        // MySQL commits DDL implicitly, so each statement stands alone; re-running skips what already exists
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : statements) {
+                try {
+                    stmt.execute(sql);
+                } catch (SQLException e) {
+                    if (!ALREADY_APPLIED.contains(e.getErrorCode())) {
+                        throw new SQLException("Migration V" + version + " failed: " + e.getMessage(), e.getSQLState(), e.getErrorCode(), e);
+                    }
+                    System.out.println("  V" + version + ": skipped (already present): " + e.getMessage());
+                }
+            }
+        }
+
+        Matcher name = SCRIPT_NAME.matcher(script.getFileName().toString());
+        String description = name.matches() ? name.group(2).replace('_', ' ') : script.getFileName().toString();
+        try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+            pstmt.setInt(1, version);
+            pstmt.setString(2, description);
+            pstmt.executeUpdate();
+        }
+        System.out.printf("Applied migration V%d (%s) in %.1f ms.%n", version, description, (System.nanoTime() - startNanos) / 1_000_000.0);
+    }
+
+    private Set<Integer> appliedVersions(Connection conn) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version FROM schema_version")) {
+            while (rs.next()) {
+                versions.add(rs.getInt(1));
+            }
+        }
+        return versions;
+    }
+
+    private TreeMap<Integer, Path> listScripts() throws SQLException {
+        TreeMap<Integer, Path> scripts = new TreeMap<>();
+        if (!Files.isDirectory(directory)) return scripts;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "V*__*.sql")) {
+            for (Path file : files) {
+                Matcher name = SCRIPT_NAME.matcher(file.getFileName().toString());
+                if (name.matches()) {
+                    scripts.put(Integer.parseInt(name.group(1)), file);
+                }
+            }
+        } catch (IOException e) {
+            throw new SQLException("Cannot list migrations in " + directory + ": " + e.getMessage(), e);
+        }
+        return scripts;
+    }
+
+    /**
+     * Splits a script into statements: drops "--" comment lines and ends a statement at a line ending in ';'.
+     */
+    static List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : script.split("\r?\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) continue;
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String sql = current.toString().trim();
+                statements.add(sql.substring(0, sql.length() - 1));
+                current.setLength(0);
+            }
+        }
+        if (current.toString().trim().length() > 0) {
+            statements.add(current.toString().trim());
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,261 @@
+// --- File: src/SelfPlaySimulator.java ---
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * SelfPlaySimulator: Plays AI-vs-AI games headless and in memory (UnoEngine on GameState, no database),
+ * split across cores with fork-join, and reports throughput and outcome statistics.
+ *
+ * Every game gets its own seed derived from the run seed and the game number, and strategies draw from
+ * that game's own random stream, so a run gives the same results for the same seed on any number of threads.
+ * Strategies are rotated through the seats from game to game, so seat advantage does not skew their win rates.
+ *
+ * Usage (all arguments optional):
+ *   java -cp classes SelfPlaySimulator games=1000000 players=4 strategies=greedy,random seed=42 threads=8 maxTurns=1000
+ */
+public class SelfPlaySimulator {
+
+    // Games per fork-join leaf; large enough that task overhead is negligible
+    private static final int BATCH_SIZE = 2_000;
+    // Draw-stack sizes above this are counted in the last histogram bucket
+    static final int MAX_STACK_BUCKET = 32;
+
+    private final int players;
+    private final AIStrategy[] strategies;
+    private final long seed;
+    private final int maxTurns;
+
+    public SelfPlaySimulator(int players, List<AIStrategy> strategies, long seed, int maxTurns) {
+        if (players < 2 || players > 10) throw new IllegalArgumentException("A game needs 2 to 10 players.");
+        if (strategies.isEmpty()) throw new IllegalArgumentException("At least one strategy is required.");
+        this.players = players;
+        this.strategies = strategies.toArray(new AIStrategy[0]);
+        this.seed = seed;
+        this.maxTurns = maxTurns;
+    }
+
+    public static void main(String[] args) {
+        long games = 100_000;
+        int players = 4;
+        String strategyNames = "greedy,random";
+        long seed = 42;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int maxTurns = 1_000;
+
+        for (String arg : args) {
+            String[] kv = arg.split("=", 2);
+            if (kv.length != 2) throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            switch (kv[0]) {
+                case "games":      games = Long.parseLong(kv[1]); break;
+                case "players":    players = Integer.parseInt(kv[1]); break;
+                case "strategies": strategyNames = kv[1]; break;
+                case "seed":       seed = Long.parseLong(kv[1]); break;
+                case "threads":    threads = Integer.parseInt(kv[1]); break;
+                case "maxTurns":   maxTurns = Integer.parseInt(kv[1]); break;
+                default: throw new IllegalArgumentException("Unknown option: " + kv[0]);
+            }
+        }
+
+        List<AIStrategy> strategies = new ArrayList<>();
+        for (String name : strategyNames.split(",")) {
+            strategies.add(AIStrategies.byName(name));
+        }
+
+        CardCatalog.loadStandardDeck();
+        SelfPlaySimulator simulator = new SelfPlaySimulator(players, strategies, seed, maxTurns);
+        System.out.printf("Simulating %,d games: %d players, strategies %s, seed %d, %d threads...%n",
+                          games, players, strategyNames, seed, threads);
+        Result result = simulator.run(games, threads);
+        System.out.print(result.report());
+    }
+
+    /**
+     * Plays games 0..games-1 on a fork-join pool with the given parallelism and returns the merged result.
+     */
+    public Result run(long games, int threads) {
+        long startNanos = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        Result result;
+        try {
+            result = pool.invoke(new Batch(0, games));
+        } finally {
+            pool.shutdown();
+        }
+        result.elapsedNanos = System.nanoTime() - startNanos;
+        return result;
+    }
+
+    /**
+     * Plays one game to the end (or to maxTurns) and adds its outcome to the result.
+     */
+    void playGame(long gameNumber, Result result) {
+        long gameSeed = mix(seed + gameNumber * 0x9E3779B97F4A7C15L);
+        SplittableRandom rng = new SplittableRandom(gameSeed ^ 0x5DEECE66DL);
+
+        int[] seats = new int[players];
+        for (int i = 0; i < players; i++) seats[i] = i + 1;
+        GameState state = UnoEngine.newGame((int) gameNumber, seats, gameSeed);
+        int rotation = (int) (gameNumber % strategies.length);
+
+        try {
+            while (state.getTurnNumber() < maxTurns) {
+                int seat = state.getCurrentSeat();
+                int playerId = state.getCurrentPlayerId();
+                AIStrategy strategy = strategies[(seat + rotation) % strategies.length];
+                AIDecision decision = strategy.choose(state, rng);
+
+                if (decision.card == null) {
+                    int pending = state.getPendingDrawStack();
+                    if (pending > 0) {
+                        result.stackSizes[Math.min(pending, MAX_STACK_BUCKET)]++;
+                    } else {
+                        UnoEngine.drawCard(state, playerId); // Draw one and pass, as the game's AI does
+                    }
+                    UnoEngine.processMove(state, playerId, null, "drawn_and_passed", null);
+                } else {
+                    UnoEngine.processMove(state, playerId, decision.card, "played", decision.nextColor);
+                    if (state.handAt(seat).isEmpty()) {
+                        UnoEngine.endGame(state, playerId);
+                        break;
+                    }
+                }
+            }
+        } catch (IllegalStateException e) {
+            result.stalled++; // Every card is in someone's hand: nothing left to draw
+        }
+
+        result.games++;
+        result.turns += state.getTurnNumber();
+        for (int seat = 0; seat < players; seat++) {
+            result.strategySeats[(seat + rotation) % strategies.length]++;
+        }
+        if (state.isFinished()) {
+            int winnerSeat = state.seatOf(state.getWinnerId());
+            result.seatWins[winnerSeat]++;
+            result.strategyWins[(winnerSeat + rotation) % strategies.length]++;
+        } else {
+            result.unfinished++;
+        }
+    }
+
+    /**
+     * SplitMix64 finalizer: turns consecutive numbers into well-spread, independent seeds.
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Plays a range of games, splitting it in half until it is one batch.
+     */
+    private class Batch extends RecursiveTask<Result> {
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+
+        Batch(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from <= BATCH_SIZE) {
+                Result result = new Result(players, strategies);
+                for (long game = from; game < to; game++) {
+                    playGame(game, result);
+                }
+                return result;
+            }
+            long middle = (from + to) >>> 1;
+            Batch left = new Batch(from, middle);
+            left.fork();
+            Result right = new Batch(middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Outcome counters for a set of games. Each fork-join leaf fills its own, then they are merged.
+     */
+    public static class Result {
+        public long games;
+        public long turns;
+        public long unfinished;   // Hit maxTurns or stalled
+        public long stalled;      // Ran out of cards to draw
+        public final long[] seatWins;
+        public final long[] strategyWins;
+        public final long[] strategySeats; // Seats each strategy occupied, summed over games
+        public final long[] stackSizes;    // Draw stacks paid, by size
+        public long elapsedNanos;
+        private final String[] strategyNames;
+
+        Result(int players, AIStrategy[] strategies) {
+            this.seatWins = new long[players];
+            this.strategyWins = new long[strategies.length];
+            this.strategySeats = new long[strategies.length];
+            this.stackSizes = new long[MAX_STACK_BUCKET + 1];
+            this.strategyNames = new String[strategies.length];
+            for (int i = 0; i < strategies.length; i++) strategyNames[i] = strategies[i].name();
+        }
+
+        Result merge(Result other) {
+            games += other.games;
+            turns += other.turns;
+            unfinished += other.unfinished;
+            stalled += other.stalled;
+            for (int i = 0; i < seatWins.length; i++) seatWins[i] += other.seatWins[i];
+            for (int i = 0; i < strategyWins.length; i++) {
+                strategyWins[i] += other.strategyWins[i];
+                strategySeats[i] += other.strategySeats[i];
+            }
+            for (int i = 0; i < stackSizes.length; i++) stackSizes[i] += other.stackSizes[i];
+            return this;
+        }
+
+        public double gamesPerSecond() {
+            return elapsedNanos == 0 ? 0 : games / (elapsedNanos / 1e9);
+        }
+
+        public String report() {
+            StringBuilder sb = new StringBuilder();
+            long finished = games - unfinished;
+            sb.append(String.format("%n--- Self-play results ---%n"));
+            sb.append(String.format("Games: %,d (%,d unfinished, %,d stalled) in %.2f s: %,.0f games/s, %,.0f turns/s%n",
+                                    games, unfinished, stalled, elapsedNanos / 1e9, gamesPerSecond(),
+                                    elapsedNanos == 0 ? 0 : turns / (elapsedNanos / 1e9)));
+            sb.append(String.format("Average turns per game: %.1f%n", games == 0 ? 0 : (double) turns / games));
+
+            sb.append(String.format("%nWin rate by seat (seat 1 moves first):%n"));
+            for (int seat = 0; seat < seatWins.length; seat++) {
+                sb.append(String.format("  Seat %-2d %10d wins  %6.2f%%%n", seat + 1, seatWins[seat], percent(seatWins[seat], finished)));
+            }
+
+            sb.append(String.format("%nWin rate by strategy (wins per seat played; fair share is %.2f%%):%n", 100.0 / seatWins.length));
+            for (int i = 0; i < strategyNames.length; i++) {
+                sb.append(String.format("  %-10s %10d wins  %6.2f%%%n", strategyNames[i], strategyWins[i], percent(strategyWins[i], strategySeats[i])));
+            }
+
+            long stacks = 0;
+            for (long count : stackSizes) stacks += count;
+            sb.append(String.format("%nDraw stacks paid: %,d (%.2f per game)%n", stacks, games == 0 ? 0 : (double) stacks / games));
+            for (int size = 1; size < stackSizes.length; size++) {
+                if (stackSizes[size] == 0) continue;
+                sb.append(String.format("  %s%2d cards %10d  %6.2f%%%n", size == MAX_STACK_BUCKET ? ">=" : "  ", size,
+                                        stackSizes[size], percent(stackSizes[size], stacks)));
+            }
+            return sb.toString();
+        }
+
+        private static double percent(long part, long whole) {
+            return whole == 0 ? 0 : 100.0 * part / whole;
+        }
+    }
+}
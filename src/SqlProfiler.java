@@ -0,0 +1,308 @@
+// --- File: src/SqlProfiler.java ---
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SqlProfiler: Optional per-statement timing for every SQL call the game makes.
+ *
+ * When enabled (-Duno.sql.profile=true) DBConnector wraps each leased Connection. The wrapper
+ * hands out Statement/PreparedStatement proxies that time every execute call and count the rows
+ * it returned or changed. Results are grouped by SQL text and by the method that ran it (the
+ * nearest caller outside JDBC, e.g. GameController.processMove), with a latency histogram per group.
+ *
+ * report() formats the table (slowest total time first); writeReport() saves it to a file.
+ */
+public final class SqlProfiler {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private static volatile boolean enabled = Boolean.getBoolean("uno.sql.profile");
+    private static final Map<String, StatementStats> statsByKey = new ConcurrentHashMap<>();
+
+    private SqlProfiler() { }
+
+    public static boolean isEnabled() { return enabled; }
+
+    public static void setEnabled(boolean on) { enabled = on; }
+
+    /**
+     * Returns an instrumented view of the connection, or the connection itself when profiling is off.
+     * Closing the wrapper closes (or returns to the pool) the underlying connection.
+     */
+    public static Connection wrap(Connection conn) {
+        if (!enabled) return conn;
+        return proxy(Connection.class, new ConnectionHandler(conn));
+    }
+
+    /**
+     * Clears every recorded statement.
+     */
+    public static void reset() {
+        statsByKey.clear();
+    }
+
+    /**
+     * Returns a snapshot of every recorded statement, slowest total time first.
+     */
+    public static List<StatementStats> snapshot() {
+        List<StatementStats> all = new ArrayList<>(statsByKey.values());
+        all.sort((a, b) -> Long.compare(b.totalNanos.sum(), a.totalNanos.sum()));
+        return all;
+    }
+
+    /**
+     * Formats the per-statement table: caller, calls, rows, total/p50/p99/max latency and the SQL.
+     */
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-40s %8s %10s %10s %9s %9s %9s  %s%n",
+                                "Caller", "Calls", "Rows", "Total ms", "p50 ms", "p99 ms", "Max ms", "SQL"));
+        for (StatementStats s : snapshot()) {
+            sb.append(String.format("%-40s %8d %10d %10.1f %9.2f %9.2f %9.2f  %s%n",
+                                    s.caller, s.calls.sum(), s.rows.sum(), s.totalNanos.sum() / 1_000_000.0,
+                                    s.percentileNanos(0.50) / 1_000_000.0, s.percentileNanos(0.99) / 1_000_000.0,
+                                    s.maxNanos.get() / 1_000_000.0, s.sql));
+            if (s.errors.sum() > 0) {
+                sb.append(String.format("%-40s %8d errors%n", "", s.errors.sum()));
+            }
+        }
+        return sb.toString();
+    }
+
+    public static void writeReport(Path file) throws IOException {
+        Files.write(file, report().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // --- Recording ---
+
+    private static StatementStats statsFor(String sql) {
+        String normalized = sql.replaceAll("\\s+", " ").trim();
+        String caller = findCaller();
+        return statsByKey.computeIfAbsent(caller + "|" + normalized, k -> new StatementStats(caller, normalized));
+    }
+
+    /**
+     * The first stack frame that isn't JDBC plumbing: the game method that issued the statement.
+     */
+    private static String findCaller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(f -> {
+                    String cls = f.getClassName();
+                    return !cls.equals(SqlProfiler.class.getName())
+                        && !cls.startsWith(SqlProfiler.class.getName() + "$")
+                        && !cls.startsWith("java.") && !cls.startsWith("jdk.") && !cls.startsWith("com.sun.")
+                        && !cls.contains("$Proxy") && !cls.startsWith("ConnectionPool");
+                })
+                .findFirst()
+                .map(f -> simpleName(f.getClassName()) + "." + f.getMethodName())
+                .orElse("?"));
+    }
+
+    private static String simpleName(String className) {
+        int dot = className.lastIndexOf('.');
+        return dot < 0 ? className : className.substring(dot + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static Object forward(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // --- Proxies ---
+
+    private static class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = forward(target, method, args);
+            String name = method.getName();
+            if (name.equals("prepareStatement") && result instanceof PreparedStatement) {
+                return SqlProfiler.proxy(PreparedStatement.class, new StatementHandler(result, (String) args[0]));
+            }
+            if (name.equals("createStatement") && result instanceof Statement) {
+                return SqlProfiler.proxy(Statement.class, new StatementHandler(result, null));
+            }
+            return result;
+        }
+    }
+
+    private static class StatementHandler implements InvocationHandler {
+        private final Object target;
+        private final String preparedSql; // null for plain Statements (SQL comes with each execute)
+        private StatementStats last;
+
+        StatementHandler(Object target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("getResultSet")) {
+                Object rs = forward(target, method, args);
+                return rs == null || last == null ? rs : SqlProfiler.proxy(ResultSet.class, new ResultSetHandler((ResultSet) rs, last));
+            }
+            if (!EXECUTE_METHODS.contains(name)) {
+                return forward(target, method, args);
+            }
+
+            String sql = preparedSql != null ? preparedSql
+                       : (args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : "<batch>");
+            StatementStats stats = statsFor(sql);
+            last = stats;
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = forward(target, method, args);
+            } catch (Throwable t) {
+                stats.errors.increment();
+                stats.record(System.nanoTime() - start, 0);
+                throw t;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            if (result instanceof ResultSet) {
+                stats.record(elapsed, 0);
+                return SqlProfiler.proxy(ResultSet.class, new ResultSetHandler((ResultSet) result, stats));
+            }
+            stats.record(elapsed, affectedRows(result));
+            return result;
+        }
+
+        private static long affectedRows(Object result) {
+            if (result instanceof Integer) return (Integer) result;
+            if (result instanceof Long) return (Long) result;
+            long rows = 0;
+            if (result instanceof int[]) {
+                for (int n : (int[]) result) rows += Math.max(n, 0);
+            } else if (result instanceof long[]) {
+                for (long n : (long[]) result) rows += Math.max(n, 0);
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Counts the rows a query returned as the caller reads them.
+     */
+    private static class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final StatementStats stats;
+
+        ResultSetHandler(ResultSet target, StatementStats stats) {
+            this.target = target;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = forward(target, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                stats.rows.increment();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Counters and a latency histogram for one (caller, SQL) pair.
+     *
+     * The histogram has 8 buckets per power of two, so percentiles are within about 12%
+     * of the true value; the maximum is exact.
+     */
+    public static class StatementStats {
+        private static final int SUB_BUCKETS = 8;
+
+        public final String caller;
+        public final String sql;
+        final LongAdder calls = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB_BUCKETS);
+
+        StatementStats(String caller, String sql) {
+            this.caller = caller;
+            this.sql = sql;
+        }
+
+        void record(long nanos, long rowCount) {
+            calls.increment();
+            rows.add(rowCount);
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            buckets.incrementAndGet(bucketOf(nanos));
+        }
+
+        public long getCalls() { return calls.sum(); }
+        public long getRows() { return rows.sum(); }
+        public long getErrors() { return errors.sum(); }
+        public long getTotalNanos() { return totalNanos.sum(); }
+        public long getMaxNanos() { return maxNanos.get(); }
+
+        /**
+         * Returns the upper bound of the bucket holding the given percentile (0.0 - 1.0).
+         */
+        public long percentileNanos(double p) {
+            long total = 0;
+            for (int i = 0; i < buckets.length(); i++) total += buckets.get(i);
+            if (total == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(p * total));
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) return Math.min(upperBoundOf(i), maxNanos.get());
+            }
+            return maxNanos.get();
+        }
+
+        private static int bucketOf(long nanos) {
+            if (nanos < SUB_BUCKETS) return (int) Math.max(nanos, 0);
+            int exp = 63 - Long.numberOfLeadingZeros(nanos); // >= 3
+            int sub = (int) ((nanos >>> (exp - 3)) & (SUB_BUCKETS - 1));
+            return (exp - 2) * SUB_BUCKETS + sub;
+        }
+
+        private static long upperBoundOf(int bucket) {
+            if (bucket < SUB_BUCKETS) return bucket;
+            int exp = bucket / SUB_BUCKETS + 2;
+            int sub = bucket % SUB_BUCKETS;
+            return ((long) (SUB_BUCKETS + sub + 1) << (exp - 3)) - 1;
+        }
+    }
+}
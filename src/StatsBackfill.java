@@ -0,0 +1,28 @@
+// --- File: src/StatsBackfill.java ---
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * StatsBackfill: One-off job that rebuilds the GameStats counters from the Game and Moves history.
+ * Run it once after adding the GameStats table, or to repair the counters (games may keep running meanwhile):
+ *   java -cp "JDBC/mysql-connector-j-9.1.0.jar;classes" StatsBackfill
+ */
+public class StatsBackfill {
+
+    public static void main(String[] args) {
+        GameController gameController = new GameController();
+        try (Connection conn = DBConnector.leaseConnection()) {
+            gameController.backfillStatistics(conn);
+            GameStatistics stats = gameController.getGameStatistics(conn);
+            System.out.printf("Games finished: %d, turns played: %d, AI wins: %d, human wins: %d, Draw 2s: %d, Wild Draw 4s: %d%n",
+                              stats.totalGamesFinished, stats.totalTurnsPlayed, stats.aiWins, stats.humanWins,
+                              stats.draw2Count, stats.wild4Count);
+        } catch (SQLException e) {
+            System.err.println("Statistics backfill failed: " + e.getMessage());
+        } finally {
+            gameController.shutdown();
+            DBConnector.shutdown();
+        }
+    }
+}
@@ -3,17 +3,12 @@
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
-import java.sql.Connection;
-import java.sql.ResultSet;
-import java.sql.Statement;
-import java.sql.SQLException;
 
 // UPDATED to extend AnimatedPanel
 public class StatsPanel extends AnimatedPanel {
 
     private UNOAppManager appManager;
-    private GameController gameController;
-    private Connection conn;
+    private GameStore gameStore;
 
     // Labels to display the stats
     private JLabel totalGamesLabel = new JLabel("0");
@@ -23,10 +18,12 @@ public class StatsPanel extends AnimatedPanel {
     private JLabel totalDraw2sLabel = new JLabel("0");
     private JLabel totalWild4sLabel = new JLabel("0");
 
+    // Incremented per loadStats() so a slow, older load never overwrites a newer one (EDT only)
+    private int loadRequest = 0;
+
     public StatsPanel(UNOAppManager manager) {
         this.appManager = manager;
-        this.gameController = appManager.getGameController();
-        this.conn = appManager.getConnection();
+        this.gameStore = appManager.getGameStore();
 
         setLayout(new BorderLayout());
         setBackground(UnoTheme.TABLE_GREEN); // Use the felt green
@@ -76,6 +73,14 @@ public class StatsPanel extends AnimatedPanel {
         backButton.setPreferredSize(new Dimension(250, 50));
         backButton.addActionListener(e -> appManager.showMenu());
         buttonPanel.add(backButton);
+
+        // Only shown when the app runs with -Duno.sql.profile=true
+        if (SqlProfiler.isEnabled()) {
+            JButton profileButton = new UnoUI.StyledButton("SQL PROFILE", UnoTheme.GREEN);
+            profileButton.setPreferredSize(new Dimension(250, 50));
+            profileButton.addActionListener(e -> showSqlProfile());
+            buttonPanel.add(profileButton);
+        }
         add(buttonPanel, BorderLayout.SOUTH);
     }
 
@@ -97,24 +102,52 @@ public class StatsPanel extends AnimatedPanel {
 
     /**
      * Called by the AppManager *every time* this panel is shown.
+     * The panel fades in straight away with placeholders; the numbers are fetched on a
+     * background worker (the store caches them) and filled in when they arrive.
      */
     public void loadStats() {
-        try {
-            GameStatistics stats = gameController.getGameStatistics(conn); 
-            
-            totalGamesLabel.setText(String.valueOf(stats.totalGamesFinished));
-            totalTurnsLabel.setText(String.valueOf(stats.totalTurnsPlayed));
-            aiWinsLabel.setText(String.valueOf(stats.aiWins));
-            humanWinsLabel.setText(String.valueOf(stats.humanWins));
-            totalDraw2sLabel.setText(String.valueOf(stats.draw2Count));
-            totalWild4sLabel.setText(String.valueOf(stats.wild4Count)); 
-            
-            // Now that stats are loaded, fade the panel in
-            fadeIn(); // <-- ADDED
-            
-        } catch (Exception e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(this, "Could not load stats: " + e.getMessage());
+        int request = ++loadRequest;
+        showPlaceholders();
+        fadeIn();
+
+        SwingWorker<GameStatistics, Void> worker = new SwingWorker<GameStatistics, Void>() {
+            @Override
+            protected GameStatistics doInBackground() throws Exception {
+                return gameStore.getGameStatistics();
+            }
+
+            @Override
+            protected void done() {
+                if (request != loadRequest) return; // A newer visit is already loading
+                try {
+                    GameStatistics stats = get();
+                    totalGamesLabel.setText(String.valueOf(stats.totalGamesFinished));
+                    totalTurnsLabel.setText(String.valueOf(stats.totalTurnsPlayed));
+                    aiWinsLabel.setText(String.valueOf(stats.aiWins));
+                    humanWinsLabel.setText(String.valueOf(stats.humanWins));
+                    totalDraw2sLabel.setText(String.valueOf(stats.draw2Count));
+                    totalWild4sLabel.setText(String.valueOf(stats.wild4Count)); 
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(StatsPanel.this, "Could not load stats: " + cause.getMessage());
+                }
+            }
+        };
+        worker.execute();
+    }
+
+    private void showSqlProfile() {
+        JTextArea text = new JTextArea(SqlProfiler.report(), 25, 140);
+        text.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        text.setEditable(false);
+        JOptionPane.showMessageDialog(this, new JScrollPane(text), "SQL Profile (slowest total time first)", JOptionPane.PLAIN_MESSAGE);
+    }
+
+    private void showPlaceholders() {
+        for (JLabel label : new JLabel[] {totalGamesLabel, totalTurnsLabel, aiWinsLabel,
+                                          humanWinsLabel, totalDraw2sLabel, totalWild4sLabel}) {
+            label.setText("...");
         }
     }
 }
\ No newline at end of file
@@ -16,6 +16,7 @@ public class UNOApp {
 
         try {
             conn = DBConnector.getConnection();
+            CardCatalog.load(conn);
             System.out.println("\n--- Setting up Players ---");
             List<Player> activePlayers = gameController.listAllPlayers(conn);
             
@@ -52,7 +53,7 @@ public class UNOApp {
                     }
                     
                     System.out.printf("%nTOP CARD: %s | CURRENT PLAYER: %s (ID: %d)%n", 
-                                       status.getTopCard().toString(), currentPlayer.getName(), currentPlayerId);
+                                       status.describeTopCard(), currentPlayer.getName(), currentPlayerId);
                     
                     if (pendingDraws > 0) {
                         System.out.printf("!!! PENDING DRAW STACK: %d cards !!!%n", pendingDraws);
@@ -82,7 +83,7 @@ public class UNOApp {
                                                        .findFirst()
                                                        .orElse(null);
                                 
-                                if (cardToPlay != null && !gameController.validateMove(cardToPlay, status.getTopCard(), pendingDraws)) {
+                                if (cardToPlay != null && !gameController.validateMove(cardToPlay, status)) {
                                     System.out.println("! INVALID MOVE: Cannot play that card. Drawing instead.");
                                     cardToPlay = null; 
                                 }
@@ -107,7 +108,7 @@ public class UNOApp {
 
                         // 1. Get all valid moves
                         List<Card> validMoves = playerHand.stream()
-                            .filter(card -> gameController.validateMove(card, status.getTopCard(), pendingDraws))
+                            .filter(card -> gameController.validateMove(card, status))
                             .collect(Collectors.toList());
 
                         if (validMoves.isEmpty()) {
@@ -127,7 +128,7 @@ public class UNOApp {
                             System.out.printf(">>> %s changed the color to %s%n", currentPlayer.getName(), nextColor.toUpperCase());
                         }
                         
-                        gameController.processMove(conn, gameId, currentPlayerId, cardToPlay, "played", nextColor);
+                        gameController.processMove(conn, gameId, currentPlayerId, cardToPlay, "played", nextColor, status);
                         
                         // Check for win AFTER playing
                         if(gameController.getPlayerHand(conn, gameId, currentPlayerId).isEmpty()){
@@ -139,12 +140,12 @@ public class UNOApp {
                         // Player must DRAW
                         if (pendingDraws == 0) {
                             System.out.printf(">>> %s draws 1 card and ends their turn.%n", currentPlayer.getName());
-                            Card drawnCard = gameController.drawCard(conn, gameId, currentPlayerId);
-                            gameController.processMove(conn, gameId, currentPlayerId, drawnCard, "drawn_and_passed", null);
+                            Card drawnCard = gameController.drawCard(conn, gameId, currentPlayerId, status);
+                            gameController.processMove(conn, gameId, currentPlayerId, drawnCard, "drawn_and_passed", null, status);
                         } else {
                             System.out.printf(">>> %s must accept the stack of %d cards and ends their turn.%n", currentPlayer.getName(), pendingDraws);
                             Card dummyCard = playerHand.get(0); // Pass a dummy card just to log the action
-                            gameController.processMove(conn, gameId, currentPlayerId, dummyCard, "drawn_and_passed", null);
+                            gameController.processMove(conn, gameId, currentPlayerId, dummyCard, "drawn_and_passed", null, status);
                         }
                     }
                     
@@ -165,6 +166,7 @@ public class UNOApp {
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         } finally {
+            gameController.shutdown();
             DBConnector.closeConnection(conn);
             scanner.close();
         }
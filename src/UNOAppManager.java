@@ -15,19 +15,34 @@ public class UNOAppManager extends JFrame {
     private GamePanel gamePanel;
     private StatsPanel statsPanel; 
 
-    // Core logic
-    private Connection conn;
-    private GameController gameController;
+    // Core logic: where game state lives (-Duno.store=memory|journal for local play without MySQL)
+    private GameStore gameStore;
 
     public UNOAppManager() {
-        // 1. Setup DB Connection
-        try {
-            conn = DBConnector.getConnection();
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Fatal: Failed to connect to DB: " + e.getMessage());
-            System.exit(1);
+        // 1. Pick the game store
+        String store = System.getProperty("uno.store", "jdbc");
+        if (store.equalsIgnoreCase("memory")) {
+            gameStore = new InMemoryGameStore();
+        } else if (store.equalsIgnoreCase("journal")) {
+            try {
+                gameStore = JournalGameStore.fromSystemProperties();
+            } catch (Exception e) {
+                JOptionPane.showMessageDialog(this, "Fatal: Failed to open the game journal: " + e.getMessage());
+                System.exit(1);
+            }
+        } else {
+            // Check that the DB is reachable and load the card catalog (the lease goes straight back to the pool)
+            try (Connection probe = DBConnector.leaseConnection()) {
+                CardCatalog.load(probe);
+                System.out.println("Connection pool ready: " + DBConnector.getPoolStats());
+            } catch (Exception e) {
+                JOptionPane.showMessageDialog(this, "Fatal: Failed to connect to DB: " + e.getMessage());
+                System.exit(1);
+            }
+            gameStore = new JdbcGameStore(new GameController());
         }
-        gameController = new GameController();
+        // Flush queued writes (and close the pool) on exit
+        Runtime.getRuntime().addShutdownHook(new Thread(gameStore::shutdown, "uno-shutdown"));
 
         // 2. Setup the main window
         setTitle("UNO DBMS Project");
@@ -75,8 +90,8 @@ public class UNOAppManager extends JFrame {
     
     public void showStats() {
         mainMenuPanel.fadeOut(() -> {
-            statsPanel.loadStats(); 
             cardLayout.show(mainPanel, "STATS");
+            statsPanel.loadStats(); // Returns at once; the numbers load in the background
             // fadeIn() is called inside loadStats()
         });
     }
@@ -84,9 +99,10 @@ public class UNOAppManager extends JFrame {
     public void startNewGame(int aiCount) {
         mainMenuPanel.fadeOut(() -> {
             try {
-                gameController.setupSessionPlayers(conn, aiCount);
+                gameStore.setupSessionPlayers(aiCount);
                 
                 if (gamePanel != null) {
+                    gamePanel.close();
                     mainPanel.remove(gamePanel); // Remove old game
                 }
                 gamePanel = new GamePanel(this); 
@@ -104,8 +120,7 @@ public class UNOAppManager extends JFrame {
     }
     
     // --- Pass-through methods ---
-    public Connection getConnection() { return conn; }
-    public GameController getGameController() { return gameController; }
+    public GameStore getGameStore() { return gameStore; }
 
     /**
      * This is your main entry point.
@@ -0,0 +1,478 @@
+// --- File: src/UnoBenchmark.java ---
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+
+/**
+ * UnoBenchmark: Micro-benchmarks for the rules, AI and persistence hot paths.
+ *
+ * Works like a small JMH run (average time mode): each benchmark gets timed warmup iterations, then
+ * measured iterations; the score is the mean ns/op with a 99.9% confidence error, plus the bytes
+ * allocated per op (from the thread allocation counter, like JMH's gc profiler) and the GC count.
+ * Results can be written as JMH-format JSON (out=results.json) to compare runs across commits.
+ * Benchmarks of code that must not allocate fail the run (exit code 1) if they average 0.5 B/op or more.
+ *
+ * In-memory benchmarks always run. The JDBC benchmarks (jdbc=true) create games, moves and statistics
+ * that are never cleaned up, so they only run against a database named explicitly with -Duno.db.url
+ * (plus -Duno.db.user / -Duno.db.password), never the default one the game uses.
+ *
+ * Usage (all arguments optional):
+ *   java -cp classes UnoBenchmark filter=ai warmup=5 iterations=5 time=500 out=bench.json jdbc=false
+ *   java -Duno.db.url=jdbc:mysql://localhost:3306/uno_bench?rewriteBatchedStatements=true -cp ... UnoBenchmark jdbc=true
+ */
+public class UnoBenchmark {
+
+    /**
+     * One operation under test. Returns a value that is folded into a sink so the JIT cannot drop the work.
+     */
+    interface Op {
+        long run() throws Exception;
+    }
+
+    /**
+     * Untimed work done before each invocation of a per-invocation benchmark (e.g. starting a fresh game).
+     */
+    interface Prepare {
+        void run() throws Exception;
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final int warmupIterations;
+    private final int measureIterations;
+    private final long iterationNanos;
+    private final Pattern filter;
+    private final List<BenchResult> results = new ArrayList<>();
+    private final List<String> failures = new ArrayList<>();
+    private long sink;
+
+    public UnoBenchmark(int warmupIterations, int measureIterations, long iterationMillis, String filter) {
+        this.warmupIterations = warmupIterations;
+        this.measureIterations = measureIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+        this.filter = Pattern.compile(filter);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int warmup = 5;
+        int iterations = 5;
+        long time = 500;
+        String filter = ".*";
+        String out = null;
+        boolean jdbc = false;
+
+        for (String arg : args) {
+            String[] kv = arg.split("=", 2);
+            if (kv.length != 2) throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            switch (kv[0]) {
+                case "warmup":     warmup = Integer.parseInt(kv[1]); break;
+                case "iterations": iterations = Integer.parseInt(kv[1]); break;
+                case "time":       time = Long.parseLong(kv[1]); break;
+                case "filter":     filter = ".*(" + kv[1] + ").*"; break;
+                case "out":        out = kv[1]; break;
+                case "jdbc":       jdbc = Boolean.parseBoolean(kv[1]); break;
+                default: throw new IllegalArgumentException("Unknown option: " + kv[0]);
+            }
+        }
+        if (!THREADS.isThreadAllocatedMemorySupported()) {
+            System.err.println("Thread allocation counters are not supported by this JVM; alloc B/op will read 0.");
+        }
+        if (jdbc && System.getProperty("uno.db.url") == null) {
+            System.err.println("jdbc=true writes benchmark games and statistics into the database. "
+                               + "Point it at a scratch database with -Duno.db.url (and -Duno.db.user / -Duno.db.password).");
+            System.exit(2);
+        }
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        UnoBenchmark bench = new UnoBenchmark(warmup, iterations, time, filter);
+        CardCatalog.loadStandardDeck();
+        bench.runInMemoryBenchmarks();
+        if (jdbc) {
+            bench.runJdbcBenchmarks();
+        }
+
+        System.out.print(bench.report());
+        if (out != null) {
+            Files.write(Path.of(out), bench.toJson().getBytes(StandardCharsets.UTF_8));
+            System.out.println("Results written to " + out);
+        }
+        System.out.println("(sink " + (bench.sink & 1) + ")");
+        if (!bench.failures.isEmpty()) {
+            for (String failure : bench.failures) System.err.println("FAILED: " + failure);
+            System.exit(1);
+        }
+    }
+
+    // --- Benchmarks ---
+
+    void runInMemoryBenchmarks() {
+        SplittableRandom rng = new SplittableRandom(7);
+        List<Card> deck = CardCatalog.all();
+
+        // validateMove: random (card, state) pairs, including stacking states
+        int pairs = 1024;
+        Card[] played = new Card[pairs];
+        GameStatus[] statuses = new GameStatus[pairs];
+        for (int i = 0; i < pairs; i++) {
+            played[i] = deck.get(rng.nextInt(deck.size()));
+            statuses[i] = randomStatus(deck, rng);
+        }
+        benchmarkBatched("validateMove", "", new Op() {
+            int i = 0;
+            public long run() {
+                int k = i++ & (pairs - 1);
+                return UnoEngine.isValidMove(played[k], statuses[k]) ? 1 : 0;
+            }
+        });
+
+        // getAIDecision at several hand sizes: the List<Card> path the UI used before, and the bitset path
+        for (int handSize : new int[] {1, 7, 15, 30}) {
+            int count = 256;
+            List<List<Card>> hands = new ArrayList<>();
+            HandBits[] bitHands = new HandBits[count];
+            GameStatus[] handStatus = new GameStatus[count];
+            for (int h = 0; h < count; h++) {
+                List<Card> shuffled = new ArrayList<>(deck);
+                for (int i = shuffled.size() - 1; i > 0; i--) {
+                    int j = rng.nextInt(i + 1);
+                    Card tmp = shuffled.get(i);
+                    shuffled.set(i, shuffled.get(j));
+                    shuffled.set(j, tmp);
+                }
+                hands.add(new ArrayList<>(shuffled.subList(0, handSize)));
+                bitHands[h] = HandBits.of(hands.get(h));
+                handStatus[h] = randomStatus(deck, rng);
+            }
+            String params = "handSize=" + handSize;
+            benchmarkBatched("getAIDecision.list", params, new Op() {
+                int i = 0;
+                public long run() {
+                    int k = i++ & (count - 1);
+                    GameStatus status = handStatus[k];
+                    List<Card> validMoves = new ArrayList<>();
+                    for (Card card : hands.get(k)) {
+                        if (UnoEngine.isValidMove(card, status)) validMoves.add(card);
+                    }
+                    AIDecision decision = UnoEngine.getAIDecision(validMoves, hands.get(k));
+                    return decision.card == null ? 0 : decision.card.getCardId();
+                }
+            });
+            benchmarkBatched("getAIDecision.bits", params, new Op() {
+                int i = 0;
+                public long run() {
+                    int k = i++ & (count - 1);
+                    AIDecision decision = UnoEngine.getAIDecision(bitHands[k], handStatus[k]);
+                    return decision.card == null ? 0 : decision.card.getCardId();
+                }
+            });
+            benchmarkAllocationFree("greedyMove", params, new Op() {
+                int i = 0;
+                public long run() {
+                    int k = i++ & (count - 1);
+                    GameStatus status = handStatus[k];
+                    return UnoEngine.greedyMove(bitHands[k], status.getTopCard(), status.getActiveCardColor(), status.getPendingDrawStack());
+                }
+            });
+        }
+
+        // One full in-memory turn: AI decision plus the state transition (a new game starts when one ends)
+        benchmarkBatched("turnStep.inMemory", "players=4", new Op() {
+            long seed = 1;
+            GameState state = newGame();
+            final SplittableRandom strategyRng = new SplittableRandom(3);
+
+            GameState newGame() {
+                return UnoEngine.newGame(0, new int[] {1, 2, 3, 4}, seed++);
+            }
+
+            public long run() {
+                if (state.isFinished() || state.getTurnNumber() >= 1_000) state = newGame();
+                int playerId = state.getCurrentPlayerId();
+                AIDecision decision = AIStrategies.GREEDY.choose(state, strategyRng);
+                try {
+                    if (decision.card == null) {
+                        if (state.getPendingDrawStack() == 0) UnoEngine.drawCard(state, playerId);
+                        UnoEngine.processMove(state, playerId, null, "drawn_and_passed", null);
+                    } else {
+                        UnoEngine.processMove(state, playerId, decision.card, "played", decision.nextColor);
+                        if (state.handOf(playerId).isEmpty()) UnoEngine.endGame(state, playerId);
+                    }
+                } catch (IllegalStateException e) {
+                    state = newGame(); // Stalled: no cards left to draw
+                }
+                return state.getTurnNumber();
+            }
+        });
+    }
+
+    void runJdbcBenchmarks() throws SQLException {
+        Connection conn;
+        try {
+            conn = DBConnector.leaseSessionConnection(); // Held for the whole JDBC run
+        } catch (SQLException e) {
+            System.err.println("Skipping JDBC benchmarks: database not reachable (" + e.getMessage() + ")");
+            return;
+        }
+        GameController controller = new GameController();
+        try {
+            CardCatalog.load(conn);
+            List<Player> players = controller.setupSessionPlayers(conn, 3);
+            int[] gameId = { controller.startGame(conn, players) };
+            int[] drawsInGame = { 0 };
+            // A game's deck holds enough cards for about 70 draws; start a fresh one (untimed) well before that
+            Prepare freshGameWhenLow = () -> {
+                if (drawsInGame[0] >= 40) {
+                    gameId[0] = controller.startGame(conn, players);
+                    drawsInGame[0] = 0;
+                }
+            };
+
+            benchmarkPerInvocation("jdbc.getGameStatus", "cached", null, () -> controller.getGameStatus(conn, gameId[0]).getVersion());
+            benchmarkPerInvocation("jdbc.getGameStatus", "read", null, () -> controller.readGameStatus(conn, gameId[0]).getVersion());
+            benchmarkPerInvocation("jdbc.drawCard", "", freshGameWhenLow, () -> {
+                drawsInGame[0]++;
+                int playerId = controller.getGameStatus(conn, gameId[0]).getCurrentTurnPlayerId();
+                return controller.drawCard(conn, gameId[0], playerId).getCardId();
+            });
+            benchmarkPerInvocation("jdbc.processMove", "drawn_and_passed", freshGameWhenLow, () -> {
+                GameStatus status = controller.getGameStatus(conn, gameId[0]);
+                drawsInGame[0] += status.getPendingDrawStack();
+                controller.processMove(conn, gameId[0], status.getCurrentTurnPlayerId(), status.getTopCard(), "drawn_and_passed", null, status);
+                return status.getVersion();
+            });
+            benchmarkPerInvocation("jdbc.startGame", "players=4,batched", null, () -> controller.startGame(conn, players));
+            controller.batchDealWrites = false; // Baseline: the same deal, one round trip per row
+            benchmarkPerInvocation("jdbc.startGame", "players=4,rowByRow", null, () -> controller.startGame(conn, players));
+            controller.batchDealWrites = true;
+            benchmarkPerInvocation("jdbc.getGameStatistics", "", null, () -> controller.getGameStatistics(conn).totalTurnsPlayed);
+        } finally {
+            conn.close();
+            controller.shutdown();
+            DBConnector.shutdown();
+        }
+    }
+
+    private static GameStatus randomStatus(List<Card> deck, SplittableRandom rng) {
+        Card top;
+        do {
+            top = deck.get(rng.nextInt(deck.size()));
+        } while (top.isWild() && rng.nextBoolean());
+        String[] colors = {"red", "green", "blue", "yellow"};
+        String activeColor = top.isWild() ? colors[rng.nextInt(4)] : top.getColor();
+        int pending = rng.nextInt(4) == 0 ? 2 : 0;
+        return new GameStatus(1, Direction.CLOCKWISE, top, activeColor, pending, 0);
+    }
+
+    // --- Harness ---
+
+    /**
+     * For fast operations: calls op in a tight loop and times the whole loop, so timer overhead is negligible.
+     */
+    void benchmarkBatched(String name, String params, Op op) {
+        if (!filter.matcher(name).matches()) return;
+        System.out.printf("# %s %s%n", name, params);
+        try {
+            // Size the inner loop so one call of it takes about 10 ms
+            long batch = 1;
+            while (true) {
+                long start = System.nanoTime();
+                for (long i = 0; i < batch; i++) sink += op.run();
+                if (System.nanoTime() - start > 10_000_000L || batch >= (1L << 40)) break;
+                batch *= 2;
+            }
+
+            double[] scores = new double[measureIterations];
+            long allocated = 0;
+            long ops = 0;
+            long gcBefore = gcCount();
+            for (int iteration = -warmupIterations; iteration < measureIterations; iteration++) {
+                long iterationOps = 0;
+                long allocStart = THREADS.getCurrentThreadAllocatedBytes();
+                long start = System.nanoTime();
+                long elapsed;
+                do {
+                    for (long i = 0; i < batch; i++) sink += op.run();
+                    iterationOps += batch;
+                    elapsed = System.nanoTime() - start;
+                } while (elapsed < iterationNanos);
+                long iterationAlloc = THREADS.getCurrentThreadAllocatedBytes() - allocStart;
+
+                if (iteration == 0) gcBefore = gcCount();
+                if (iteration >= 0) {
+                    scores[iteration] = (double) elapsed / iterationOps;
+                    allocated += iterationAlloc;
+                    ops += iterationOps;
+                }
+                printIteration(iteration, (double) elapsed / iterationOps);
+            }
+            record(name, params, scores, ops == 0 ? 0 : (double) allocated / ops, gcCount() - gcBefore);
+        } catch (Exception e) {
+            System.err.println("Benchmark " + name + " failed: " + e);
+        }
+    }
+
+    /**
+     * A batched benchmark of code that must not allocate: the run fails if it averages 0.5 B/op or more.
+     */
+    void benchmarkAllocationFree(String name, String params, Op op) {
+        int before = results.size();
+        benchmarkBatched(name, params, op);
+        if (results.size() > before) {
+            BenchResult result = results.get(results.size() - 1);
+            if (result.allocPerOp >= 0.5) {
+                failures.add(String.format(Locale.ROOT, "%s %s allocates %.1f B/op", name, params, result.allocPerOp));
+            }
+        }
+    }
+
+    /**
+     * For slow operations (JDBC): times each call on its own, with optional untimed preparation before it.
+     */
+    void benchmarkPerInvocation(String name, String params, Prepare prepare, Op op) {
+        if (!filter.matcher(name).matches()) return;
+        System.out.printf("# %s %s%n", name, params);
+        try {
+            double[] scores = new double[measureIterations];
+            long allocated = 0;
+            long ops = 0;
+            long gcBefore = gcCount();
+            for (int iteration = -warmupIterations; iteration < measureIterations; iteration++) {
+                long timed = 0;
+                long iterationOps = 0;
+                long iterationAlloc = 0;
+                long wallStart = System.nanoTime();
+                do {
+                    if (prepare != null) prepare.run();
+                    long allocStart = THREADS.getCurrentThreadAllocatedBytes();
+                    long start = System.nanoTime();
+                    sink += op.run();
+                    timed += System.nanoTime() - start;
+                    iterationAlloc += THREADS.getCurrentThreadAllocatedBytes() - allocStart;
+                    iterationOps++;
+                } while (System.nanoTime() - wallStart < iterationNanos);
+
+                if (iteration == 0) gcBefore = gcCount();
+                if (iteration >= 0) {
+                    scores[iteration] = (double) timed / iterationOps;
+                    allocated += iterationAlloc;
+                    ops += iterationOps;
+                }
+                printIteration(iteration, (double) timed / iterationOps);
+            }
+            record(name, params, scores, ops == 0 ? 0 : (double) allocated / ops, gcCount() - gcBefore);
+        } catch (Exception e) {
+            System.err.println("Benchmark " + name + " failed: " + e);
+        }
+    }
+
+    private static void printIteration(int iteration, double nsPerOp) {
+        System.out.printf("  %s %3d: %,12.1f ns/op%n", iteration < 0 ? "Warmup   " : "Iteration",
+                          iteration < 0 ? iteration + 1 : iteration + 1, nsPerOp);
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(gc.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    private void record(String name, String params, double[] scores, double allocPerOp, long gcCount) {
+        double mean = 0;
+        for (double s : scores) mean += s;
+        mean /= scores.length;
+        double variance = 0;
+        for (double s : scores) variance += (s - mean) * (s - mean);
+        double stdev = scores.length > 1 ? Math.sqrt(variance / (scores.length - 1)) : 0;
+        // 99.9% two-sided interval, using the normal quantile (JMH uses Student's t; close enough at 5+ iterations)
+        double error = scores.length > 1 ? 3.29 * stdev / Math.sqrt(scores.length) : Double.NaN;
+        results.add(new BenchResult(name, params, mean, error, scores, allocPerOp, gcCount));
+    }
+
+    // --- Output ---
+
+    String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%n%-22s %-18s %6s %14s %12s %14s %6s%n", "Benchmark", "Params", "Cnt", "Score ns/op", "Error", "Alloc B/op", "GCs"));
+        for (BenchResult r : results) {
+            sb.append(String.format(Locale.ROOT, "%-22s %-18s %6d %14.1f %12s %14.1f %6d%n", r.name, r.params, r.scores.length,
+                                    r.score, Double.isNaN(r.error) ? "" : String.format(Locale.ROOT, "+- %.1f", r.error),
+                                    r.allocPerOp, r.gcCount));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The results in JMH's JSON result format (mode "avgt", gc.alloc.rate.norm as a secondary metric).
+     */
+    String toJson() {
+        StringBuilder sb = new StringBuilder("[\n");
+        for (int i = 0; i < results.size(); i++) {
+            BenchResult r = results.get(i);
+            sb.append("  {\n");
+            sb.append("    \"benchmark\": \"UnoBenchmark.").append(r.name).append("\",\n");
+            sb.append("    \"mode\": \"avgt\",\n");
+            sb.append("    \"threads\": 1,\n");
+            sb.append("    \"warmupIterations\": ").append(warmupIterations).append(",\n");
+            sb.append("    \"measurementIterations\": ").append(measureIterations).append(",\n");
+            sb.append("    \"params\": {");
+            if (!r.params.isEmpty()) {
+                String[] kv = r.params.split("=", 2);
+                sb.append(" \"").append(kv[0]).append("\": \"").append(kv.length > 1 ? kv[1] : "").append("\" ");
+            }
+            sb.append("},\n");
+            sb.append("    \"primaryMetric\": {\n");
+            sb.append(String.format(Locale.ROOT, "      \"score\": %.3f,%n", r.score));
+            sb.append(String.format(Locale.ROOT, "      \"scoreError\": %s,%n", Double.isNaN(r.error) ? "\"NaN\"" : String.format(Locale.ROOT, "%.3f", r.error)));
+            sb.append("      \"scoreUnit\": \"ns/op\",\n");
+            sb.append("      \"rawData\": [[");
+            for (int s = 0; s < r.scores.length; s++) {
+                sb.append(s == 0 ? "" : ", ").append(String.format(Locale.ROOT, "%.3f", r.scores[s]));
+            }
+            sb.append("]]\n");
+            sb.append("    },\n");
+            sb.append("    \"secondaryMetrics\": {\n");
+            sb.append(String.format(Locale.ROOT, "      \"gc.alloc.rate.norm\": { \"score\": %.3f, \"scoreUnit\": \"B/op\" },%n", r.allocPerOp));
+            sb.append(String.format("      \"gc.count\": { \"score\": %d, \"scoreUnit\": \"counts\" }%n", r.gcCount));
+            sb.append("    }\n");
+            sb.append(i == results.size() - 1 ? "  }\n" : "  },\n");
+        }
+        return sb.append("]\n").toString();
+    }
+
+    /**
+     * A simple data-holder for one benchmark's measurements.
+     */
+    static class BenchResult {
+        final String name;
+        final String params;
+        final double score;      // mean ns/op
+        final double error;      // 99.9% half-width, NaN with one iteration
+        final double[] scores;   // ns/op per measured iteration
+        final double allocPerOp; // bytes allocated per op on the benchmark thread
+        final long gcCount;      // collections during the measured iterations
+
+        BenchResult(String name, String params, double score, double error, double[] scores, double allocPerOp, long gcCount) {
+            this.name = name;
+            this.params = params;
+            this.score = score;
+            this.error = error;
+            this.scores = scores;
+            this.allocPerOp = allocPerOp;
+            this.gcCount = gcCount;
+        }
+    }
+}
@@ -0,0 +1,489 @@
+// --- File: src/UnoEngine.java ---
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * UnoEngine: The pure UNO rules, with no database access.
+ *
+ * The rule helpers (validation, card effects, AI choice) are shared with GameController,
+ * and the state transitions (deal, play, draw, reverse, skip, stacking) run directly on a
+ * GameState so local games and simulations never touch JDBC.
+ */
+public final class UnoEngine {
+
+    private UnoEngine() { }
+
+    // --- Rules shared with the JDBC controller ---
+
+    /**
+     * Checks if a player's proposed card is a valid move against the current game state.
+     */
+    public static boolean isValidMove(Card playedCard, GameStatus status) {
+        if (status == null) return false;
+        return isValidMove(playedCard, status.getTopCard(), status.getActiveCardColor(), status.getPendingDrawStack());
+    }
+
+    /**
+     * Checks if a player's proposed card is a valid move, including STACKING logic.
+     * activeColor is the color in play (the chosen color when the top card is a Wild).
+     */
+    public static boolean isValidMove(Card playedCard, Card topCard, String activeColor, int pendingDrawStack) {
+        return isValidMove(playedCard, topCard, CardColor.fromName(activeColor), pendingDrawStack);
+    }
+
+    /**
+     * The hot-path check: a single read of the playability table, no string work.
+     */
+    public static boolean isValidMove(Card playedCard, Card topCard, CardColor activeColor, int pendingDrawStack) {
+        if (playedCard == null || topCard == null) return false;
+        return PLAYABLE[playableIndex(playedCard.getPacked(), topCard.getPacked(), colorSlot(activeColor), pendingDrawStack > 0 ? 1 : 0)];
+    }
+
+    /**
+     * The matching rules themselves, used once to fill the playability table.
+     */
+    private static boolean ruleAllows(CardColor playedColor, CardValue playedValue, CardValue topValue, CardColor activeColor, boolean stacking) {
+        // Rule 1: Stacking logic
+        if (stacking) {
+            return (playedValue == CardValue.DRAW2 && topValue == CardValue.DRAW2)
+                || (playedValue == CardValue.WILD4 && topValue == CardValue.WILD4);
+        }
+
+        // Rule 2: Wild cards can always be played (if not stacking)
+        if (playedValue.isWild()) {
+            return true;
+        }
+
+        // Rule 3: Must match color OR number/action value (if not stacking)
+        return playedColor == activeColor || playedValue == topValue;
+    }
+
+    /**
+     * Works out what playing a card does to the turn order and the draw stack.
+     */
+    public static CardEffect effectOf(Card card, int currentPendingDraws) {
+        switch (card.getCardValue()) {
+            case REVERSE: return EFFECT_REVERSE;
+            case SKIP:    return EFFECT_SKIP;
+            case DRAW2:
+            case WILD4:   return new CardEffect(false, 1, currentPendingDraws + card.getCardValue().drawPenalty()); // ADD to the stack
+            default:      return EFFECT_NONE;
+        }
+    }
+
+    private static final CardEffect EFFECT_REVERSE = new CardEffect(true, 0, 0);
+    private static final CardEffect EFFECT_SKIP = new CardEffect(false, 1, 0);
+    private static final CardEffect EFFECT_NONE = new CardEffect(false, 0, 0);
+
+    /**
+     * Implements the Advanced AI Strategy.
+     * It scores all valid moves and picks the best one; equal scores go to the lowest card_id,
+     * whatever order the list is in, so every overload picks the same card.
+     */
+    public static AIDecision getAIDecision(List<Card> validMoves, List<Card> fullHand) {
+
+        Card bestCard = null;
+        int bestScore = -1;
+        String chosenColor = null;
+
+        // 1. Score and find the highest-scoring card
+        for (Card card : validMoves) {
+            int score = card.getCardValue().aiScore();
+
+            if (score > bestScore || (score == bestScore && card.getCardId() < bestCard.getCardId())) {
+                bestScore = score;
+                bestCard = card;
+            }
+        }
+
+        // 2. If a Wild card was chosen, determine the best color
+        if (bestCard != null && bestCard.isWild()) {
+            int[] colorCounts = new int[PLAY_COLORS.length];
+            for (Card card : fullHand) {
+                if (!card.isWild()) colorCounts[card.getCardColor().ordinal()]++;
+            }
+            chosenColor = mostCommonColor(colorCounts);
+        }
+
+        return new AIDecision(bestCard, chosenColor);
+    }
+
+    /**
+     * The same strategy on a bitset hand: the playable cards are one mask intersection, scores
+     * come from the card values and the Wild color from per-color popcounts.
+     * Returns an AIDecision with a null card when nothing is playable.
+     */
+    public static AIDecision getAIDecision(HandBits hand, GameStatus status) {
+        return getAIDecision(hand, status.getTopCard(), status.getActiveCardColor(), status.getPendingDrawStack());
+    }
+
+    public static AIDecision getAIDecision(HandBits hand, Card topCard, CardColor activeColor, int pendingDrawStack) {
+        int move = greedyMove(hand, topCard, activeColor, pendingDrawStack);
+        if (move == NO_MOVE) return new AIDecision(null, null);
+        CardColor color = moveColor(move);
+        return new AIDecision(CardCatalog.get(moveCardId(move)), color != null ? color.dbName() : null);
+    }
+
+    // --- Allocation-free greedy decision (packed int) ---
+
+    /** greedyMove's result when nothing in the hand is playable: draw. */
+    public static final int NO_MOVE = -1;
+
+    /**
+     * The greedy strategy without allocating: one pass over the playable cards keeps the best score,
+     * and a Wild's color comes from four popcounts of the hand. The move is packed into an int as
+     * card_id | colorSlot << 8 (slot 0..3 is the Wild's chosen color, 4 means none); NO_MOVE if nothing
+     * is playable. Decode with moveCardId and moveColor. Cards are visited in card_id order, so equal
+     * scores go to the lowest card_id, the same tie-break as getAIDecision(List, List).
+     */
+    public static int greedyMove(HandBits hand, Card topCard, CardColor activeColor, int pendingDrawStack) {
+        long[] masks = playableMasks();
+        int[] scores = cardScores;
+        int bestId = -1;
+        int bestScore = -1;
+
+        if (masks == null) {
+            for (int id = hand.first(); id >= 0; id = hand.next(id)) {
+                Card card = CardCatalog.get(id);
+                int score = card.getCardValue().aiScore();
+                if (score > bestScore && isValidMove(card, topCard, activeColor, pendingDrawStack)) {
+                    bestScore = score;
+                    bestId = id;
+                }
+            }
+        } else {
+            int index = maskIndex(topCard, activeColor, pendingDrawStack);
+            long low = hand.low() & masks[index];
+            long high = hand.high() & masks[index + 1];
+            for (; low != 0; low &= low - 1) {
+                int id = Long.numberOfTrailingZeros(low);
+                if (scores[id] > bestScore) {
+                    bestScore = scores[id];
+                    bestId = id;
+                }
+            }
+            for (; high != 0; high &= high - 1) {
+                int id = 64 + Long.numberOfTrailingZeros(high);
+                if (scores[id] > bestScore) {
+                    bestScore = scores[id];
+                    bestId = id;
+                }
+            }
+        }
+        if (bestId < 0) return NO_MOVE;
+        if (!CardCatalog.get(bestId).isWild()) return bestId | PLAY_COLORS.length << 8;
+
+        // Most common color in the hand; ties go to the earlier color, red if there are none
+        int bestSlot = 0;
+        int bestCount = -1;
+        for (int slot = 0; slot < PLAY_COLORS.length; slot++) {
+            int count = masks == null ? countColor(hand, PLAY_COLORS[slot])
+                                      : hand.countIn(colorMasks[slot * 2], colorMasks[slot * 2 + 1]);
+            if (count > bestCount) {
+                bestCount = count;
+                bestSlot = slot;
+            }
+        }
+        return bestId | bestSlot << 8;
+    }
+
+    public static int moveCardId(int move) {
+        return move & 0xFF;
+    }
+
+    /**
+     * The color a packed move's Wild switches to, or null for a colored card.
+     */
+    public static CardColor moveColor(int move) {
+        int slot = move >>> 8;
+        return slot < PLAY_COLORS.length ? PLAY_COLORS[slot] : null;
+    }
+
+    private static int countColor(HandBits hand, CardColor color) {
+        int count = 0;
+        for (int id = hand.first(); id >= 0; id = hand.next(id)) {
+            Card card = CardCatalog.get(id);
+            if (!card.isWild() && card.getCardColor() == color) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Counts the cards in a hand that can be played right now.
+     */
+    public static int countPlayable(HandBits hand, GameStatus status) {
+        long[] masks = playableMasks();
+        if (masks == null) {
+            int count = 0;
+            for (int id = hand.first(); id >= 0; id = hand.next(id)) {
+                if (isValidMove(CardCatalog.get(id), status)) count++;
+            }
+            return count;
+        }
+        int index = maskIndex(status.getTopCard(), status.getActiveCardColor(), status.getPendingDrawStack());
+        return hand.countIn(masks[index], masks[index + 1]);
+    }
+
+    /**
+     * The color with the highest count (ties go to the earlier color; "red" if all counts are zero).
+     */
+    private static String mostCommonColor(int[] colorCounts) {
+        int best = 0;
+        for (int slot = 1; slot < colorCounts.length; slot++) {
+            if (colorCounts[slot] > colorCounts[best]) best = slot;
+        }
+        return PLAY_COLORS[best].dbName();
+    }
+
+    // --- Playability table ---
+
+    // The colors a card can be played in; their ordinals are 0..3, and slot 4 means "no color in play"
+    private static final CardColor[] PLAY_COLORS = {CardColor.RED, CardColor.GREEN, CardColor.BLUE, CardColor.YELLOW};
+    private static final int COLOR_SLOTS = PLAY_COLORS.length + 1;
+    private static final int PACKED_KINDS = 128; // Card.getPacked() is always below 128
+
+    // One entry per (played card kind, top card kind, active color, stacking); built once from ruleAllows
+    private static final boolean[] PLAYABLE = buildPlayableTable();
+
+    private static boolean[] buildPlayableTable() {
+        boolean[] table = new boolean[PACKED_KINDS * PACKED_KINDS * COLOR_SLOTS * 2];
+        for (CardColor playedColor : CardColor.values()) {
+            for (CardValue playedValue : CardValue.values()) {
+                for (CardColor topColor : CardColor.values()) {
+                    for (CardValue topValue : CardValue.values()) {
+                        for (int slot = 0; slot < COLOR_SLOTS; slot++) {
+                            CardColor activeColor = slot < PLAY_COLORS.length ? PLAY_COLORS[slot] : null;
+                            for (int stacking = 0; stacking < 2; stacking++) {
+                                int index = playableIndex(Card.pack(playedColor, playedValue), Card.pack(topColor, topValue), slot, stacking);
+                                table[index] = ruleAllows(playedColor, playedValue, topValue, activeColor, stacking == 1);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return table;
+    }
+
+    private static int playableIndex(int playedPacked, int topPacked, int colorSlot, int stacking) {
+        return ((playedPacked * PACKED_KINDS + topPacked) * COLOR_SLOTS + colorSlot) * 2 + stacking;
+    }
+
+    private static int colorSlot(CardColor color) {
+        return color == null || color == CardColor.WILD ? PLAY_COLORS.length : color.ordinal();
+    }
+
+    // --- Precomputed hand masks (built once from the CardCatalog) ---
+
+    // Two longs (card_ids 0..63, 64..127) per (top card, active color, stacking) of the cards that may be played on it
+    private static volatile long[] playableMasks;
+    private static long[] colorMasks; // two longs per color: its non-Wild cards
+    private static int[] cardScores;  // AI score by card_id
+
+    /**
+     * Returns the playable-mask table, building it on first use; null if the catalog is not loaded
+     * yet or has card_ids beyond HandBits.CAPACITY.
+     */
+    private static long[] playableMasks() {
+        long[] masks = playableMasks;
+        if (masks != null || !CardCatalog.isLoaded()) return masks;
+        return buildMasks();
+    }
+
+    private static synchronized long[] buildMasks() {
+        if (playableMasks != null) return playableMasks;
+        List<Card> cards = CardCatalog.all();
+        int maxId = 0;
+        for (Card card : cards) maxId = Math.max(maxId, card.getCardId());
+        if (maxId >= HandBits.CAPACITY) return null;
+
+        long[] masks = new long[(maxId + 1) * COLOR_SLOTS * 2 * 2];
+        for (Card top : cards) {
+            for (int slot = 0; slot < COLOR_SLOTS; slot++) {
+                for (int stacking = 0; stacking < 2; stacking++) {
+                    int index = maskIndex(top.getCardId(), slot, stacking);
+                    for (Card played : cards) {
+                        if (PLAYABLE[playableIndex(played.getPacked(), top.getPacked(), slot, stacking)]) {
+                            masks[index + (played.getCardId() >>> 6)] |= 1L << played.getCardId();
+                        }
+                    }
+                }
+            }
+        }
+
+        long[] byColor = new long[PLAY_COLORS.length * 2];
+        for (Card card : cards) {
+            int slot = colorSlot(card.getCardColor());
+            if (!card.isWild() && slot < PLAY_COLORS.length) {
+                byColor[slot * 2 + (card.getCardId() >>> 6)] |= 1L << card.getCardId();
+            }
+        }
+        int[] scores = new int[maxId + 1];
+        for (Card card : cards) scores[card.getCardId()] = card.getCardValue().aiScore();
+
+        colorMasks = byColor;
+        cardScores = scores;
+        playableMasks = masks; // Published last: a reader that sees it also sees colorMasks and cardScores
+        return masks;
+    }
+
+    private static int maskIndex(Card topCard, CardColor activeColor, int pendingDrawStack) {
+        return maskIndex(topCard.getCardId(), colorSlot(activeColor), pendingDrawStack > 0 ? 1 : 0);
+    }
+
+    private static int maskIndex(int topCardId, int colorSlot, int stacking) {
+        return ((topCardId * COLOR_SLOTS + colorSlot) * 2 + stacking) * 2;
+    }
+
+    // --- In-memory state transitions ---
+
+    /**
+     * Shuffles the catalog, deals 7 cards to each player and flips the first non-Wild card.
+     * The first player in the list starts, clockwise.
+     */
+    public static GameState newGame(int gameId, int[] playerIds, long seed) {
+        List<Card> catalog = CardCatalog.all();
+        GameState state = new GameState(gameId, playerIds, catalog.size(), seed);
+
+        for (Card card : catalog) {
+            state.drawPile[state.drawSize++] = card.getCardId();
+        }
+        shuffle(state, state.drawPile, state.drawSize);
+
+        if (state.drawSize <= playerIds.length * 7) throw new IllegalStateException("Deck ran out of cards during dealing!");
+        for (int seat = 0; seat < playerIds.length; seat++) {
+            HandBits hand = state.hands[seat];
+            for (int i = 0; i < 7; i++) {
+                hand.add(state.drawPile[--state.drawSize]);
+            }
+        }
+
+        // --- FLIP FIRST DISCARD CARD (Wilds are skipped and stay in the deck) ---
+        int index = state.drawSize - 1;
+        while (index >= 0 && CardCatalog.get(state.drawPile[index]).isWild()) {
+            index--;
+        }
+        if (index < 0) throw new IllegalStateException("No valid starting card left in the deck!");
+        int firstCardId = state.drawPile[index];
+        System.arraycopy(state.drawPile, index + 1, state.drawPile, index, state.drawSize - index - 1);
+        state.drawSize--;
+        state.discardPile[state.discardSize++] = firstCardId;
+        state.activeColor = CardCatalog.get(firstCardId).getCardColor();
+        return state;
+    }
+
+    /**
+     * Draws the top card of the draw pile into a player's hand, refilling from the discard pile when empty.
+     */
+    public static Card drawCard(GameState state, int playerId) {
+        HandBits hand = state.handOf(playerId);
+        if (state.drawSize == 0) {
+            refillDeck(state);
+        }
+        int cardId = state.drawPile[--state.drawSize];
+        hand.add(cardId);
+        return CardCatalog.get(cardId);
+    }
+
+    /**
+     * Draws count cards into a player's hand, refilling from the discard pile as needed.
+     */
+    public static List<Card> drawCards(GameState state, int playerId, int count) {
+        List<Card> drawn = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            drawn.add(drawCard(state, playerId));
+        }
+        return drawn;
+    }
+
+    /**
+     * Applies a move: "played" puts a card from the player's hand on the discard pile and applies its effect;
+     * "drawn_and_passed" makes the player pay any pending draw stack and passes the turn.
+     */
+    public static void processMove(GameState state, int playerId, Card cardToPlay, String action, String nextColor) {
+        if (state.finished) throw new IllegalStateException("Game " + state.gameId + " is already finished.");
+        if (state.getCurrentPlayerId() != playerId) {
+            throw new IllegalStateException("It is not player " + playerId + "'s turn.");
+        }
+
+        if (action.equalsIgnoreCase("played")) {
+            HandBits hand = state.handOf(playerId);
+            if (!isValidMove(cardToPlay, state.getTopCard(), state.activeColor, state.pendingDrawStack)) {
+                throw new IllegalArgumentException("Invalid move: " + cardToPlay + " cannot be played now.");
+            }
+            if (!hand.remove(cardToPlay.getCardId())) {
+                throw new IllegalArgumentException("Player " + playerId + " does not hold " + cardToPlay);
+            }
+            state.discardPile[state.discardSize++] = cardToPlay.getCardId();
+
+            CardEffect effect = effectOf(cardToPlay, state.pendingDrawStack);
+            if (effect.reverse) {
+                state.clockwise = !state.clockwise;
+            }
+            state.pendingDrawStack = effect.newPendingDraws;
+            state.activeColor = cardToPlay.isWild() ? CardColor.fromName(nextColor) : cardToPlay.getCardColor();
+            advance(state, effect.skipCount);
+
+        } else if (action.equalsIgnoreCase("drawn_and_passed")) {
+            drawCards(state, playerId, state.pendingDrawStack);
+            state.pendingDrawStack = 0;
+            advance(state, 0);
+
+        } else {
+            throw new IllegalArgumentException("Unknown action: " + action);
+        }
+        state.turnNumber++;
+    }
+
+    /**
+     * Marks the game as finished with the given winner.
+     */
+    public static void endGame(GameState state, int winnerId) {
+        state.finished = true;
+        state.winnerId = winnerId;
+    }
+
+    // --- Internal helpers ---
+
+    private static void advance(GameState state, int skipCount) {
+        int steps = 1 + skipCount; // 1 for normal turn, +1 for each skip
+        state.currentSeat = Math.floorMod(state.currentSeat + (state.clockwise ? steps : -steps), state.seats.length);
+    }
+
+    private static void refillDeck(GameState state) {
+        int topCardId = state.getTopCardId();
+        for (int i = 0; i < state.discardSize - 1; i++) {
+            state.drawPile[state.drawSize++] = state.discardPile[i];
+        }
+        state.discardPile[0] = topCardId;
+        state.discardSize = 1;
+        if (state.drawSize == 0) throw new IllegalStateException("Deck ran out of cards and the discard pile is empty!");
+        shuffle(state, state.drawPile, state.drawSize);
+    }
+
+    private static void shuffle(GameState state, int[] cards, int size) {
+        for (int i = size - 1; i > 0; i--) {
+            int j = state.nextInt(i + 1);
+            int tmp = cards[i];
+            cards[i] = cards[j];
+            cards[j] = tmp;
+        }
+    }
+
+    /**
+     * The result of playing a card: whether it reverses direction, how many players are skipped,
+     * and the new draw stack.
+     */
+    public static class CardEffect {
+        public final boolean reverse;
+        public final int skipCount;
+        public final int newPendingDraws;
+
+        CardEffect(boolean reverse, int skipCount, int newPendingDraws) {
+            this.reverse = reverse;
+            this.skipCount = skipCount;
+            this.newPendingDraws = newPendingDraws;
+        }
+    }
+}